@@ -10,11 +10,29 @@ import java.lang.reflect.Array;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ValueAdapterRegistry {
 
-    protected final Set<ValueAdapter<?>> adapters = new HashSet<>();
-    protected final Map<ValueType<?>, ValueAdapter<?>> adapterCache = new HashMap<>();
+    /**
+     * Registered adapters, subclasses that modify it directly should hold its lock and call {@link #reindex()} then.
+     */
+    protected final Set<ValueAdapter<?>> adapters = new CopyOnWriteArraySet<>();
+
+    /**
+     * Index of registered adapters, rebuilt and replaced as a whole when adapters changed,
+     * so lookups never need any lock.
+     * <br>Note: This replaces the protected {@code adapterCache} map of earlier versions,
+     * subclasses should look up by {@link #adapterOf(ValueType)} instead.
+     */
+    protected volatile @NotNull AdapterIndex index = AdapterIndex.EMPTY;
+
+    /**
+     * Version of the registry, changes whenever adapters registered, unregistered or modified.
+     */
+    protected final @NotNull AtomicLong version = new AtomicLong();
 
     public <FROM, TO> void register(@NotNull Class<FROM> from, @NotNull Class<TO> to,
                                     @Nullable DataFunction<FROM, TO> parser,
@@ -34,8 +52,10 @@ public class ValueAdapterRegistry {
     }
 
     public void register(@NotNull ValueAdapter<?>... adapter) {
-        adapters.addAll(Arrays.asList(adapter));
-        adapterCache.clear();
+        synchronized (this.adapters) {
+            adapters.addAll(Arrays.asList(adapter));
+            reindex();
+        }
     }
 
     public <T> void register(@NotNull Class<T> type, @NotNull ValueSerializer<T> serializer) {
@@ -46,6 +66,7 @@ public class ValueAdapterRegistry {
         ValueAdapter<T> existing = adapterOf(type);
         if (existing != null) {
             existing.serializer(serializer);
+            changed();
         } else {
             register(new ValueAdapter<>(type, serializer, null));
         }
@@ -59,6 +80,7 @@ public class ValueAdapterRegistry {
         ValueAdapter<T> existing = adapterOf(type);
         if (existing != null) {
             existing.parser(deserializer);
+            changed();
         } else {
             register(new ValueAdapter<>(type, null, deserializer));
         }
@@ -72,6 +94,7 @@ public class ValueAdapterRegistry {
         if (existing != null) {
             if (serializer != null) existing.serializer(serializer);
             if (deserializer != null) existing.parser(deserializer);
+            changed();
         } else {
             register(new ValueAdapter<>(type, serializer, deserializer));
         }
@@ -82,32 +105,47 @@ public class ValueAdapterRegistry {
     }
 
     public void unregister(@NotNull ValueType<?> type) {
-        adapters.removeIf(adapter -> adapter.type().equals(type));
-        adapterCache.clear();
+        synchronized (this.adapters) {
+            adapters.removeIf(adapter -> adapter.type().equals(type));
+            reindex();
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    public <T> @Nullable ValueAdapter<T> adapterOf(@NotNull ValueType<T> type) {
-        if (adapterCache.containsKey(type)) {
-            return (ValueAdapter<T>) adapterCache.get(type);
-        }
+    /**
+     * Rebuild the index of adapters, must be called after {@link #adapters} modified.
+     */
+    protected void reindex() {
+        this.index = new AdapterIndex(this.adapters);
+        changed();
+    }
 
-        for (ValueAdapter<?> adapter : adapters) {
-            if (adapter.type().equals(type)) {
-                adapterCache.put(type, adapter);
-                return (ValueAdapter<T>) adapter;
-            }
-        }
+    /**
+     * Mark the registry as changed, so values will resolve their adapters again.
+     */
+    protected void changed() {
+        this.version.incrementAndGet();
+    }
 
-        for (ValueAdapter<?> adapter : adapters) {
-            if (adapter.type().isSubtypeOf(type)) {
-                adapterCache.put(type, adapter);
-                return (ValueAdapter<T>) adapter;
-            }
-        }
+    /**
+     * @return Current version of the registry,
+     * adapters resolved from an older version should be resolved again.
+     */
+    public long version() {
+        return this.version.get();
+    }
 
-        adapterCache.put(type, null);
-        return null;
+    /**
+     * Get the adapter of the type.
+     * <br>Adapter registered for the exact type will be used first,
+     * otherwise the adapter registered for the nearest super type of its raw type.
+     *
+     * @param type The type of value
+     * @param <T>  The type of value
+     * @return The adapter, or null if no adapter available for this type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable ValueAdapter<T> adapterOf(@NotNull ValueType<T> type) {
+        return (ValueAdapter<T>) this.index.lookup(type);
     }
 
     public <T> ValueAdapter<T> adapterOf(@NotNull T value) {
@@ -124,128 +162,172 @@ public class ValueAdapterRegistry {
 
     public <T> T deserialize(@NotNull ConfigurationHolder<?> holder, @NotNull ValueType<T> type, @Nullable Object source) throws Exception {
         if (source == null) return null;
+        return planOf(type).deserialize(holder, source);
+    }
 
+    /**
+     * Get the compiled deserialize plan of the type.
+     * <br>Plans have their adapters and element plans bound when compiled,
+     * and will be compiled again after adapters changed.
+     *
+     * @param type The type to deserialize to
+     * @param <T>  The type to deserialize to
+     * @return The plan to deserialize data into the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull DeserializePlan<T> planOf(@NotNull ValueType<T> type) {
+        AdapterIndex index = this.index;
+        DeserializePlan<?> plan = index.plans.get(type);
+        if (plan != null) return (DeserializePlan<T>) plan;
+
+        // Not using computeIfAbsent, as compiling will recursively compile the plans of type arguments.
+        plan = compile(index, type);
+        DeserializePlan<?> existing = index.plans.putIfAbsent(type, plan);
+        return (DeserializePlan<T>) (existing == null ? plan : existing);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> @NotNull DeserializePlan<T> compile(@NotNull AdapterIndex index, @NotNull ValueType<T> type) {
         Type typeInstance = type.getType();
-        if (!(typeInstance instanceof ParameterizedType) && type.isInstance(source)) {
-            return type.cast(source);
-        }
+        boolean parameterized = typeInstance instanceof ParameterizedType;
+        ValueAdapter<T> adapter = (ValueAdapter<T>) index.lookup(type);
 
-        ValueAdapter<T> adapter = adapterOf(type);
         if (adapter != null) {
-            return adapter.parse(holder, type, source);
+            if (parameterized) return (holder, source) -> adapter.parse(holder, type, source);
+            return (holder, source) -> type.isInstance(source) ? type.cast(source) : adapter.parse(holder, type, source);
         }
 
-        return deserializeWithoutAdapter(holder, type, source, typeInstance);
+        DeserializePlan<T> plan = compileWithoutAdapter(type, typeInstance);
+        if (parameterized) return plan;
+        return (holder, source) -> type.isInstance(source) ? type.cast(source) : plan.deserialize(holder, source);
     }
 
-    private <T> T deserializeWithoutAdapter(@NotNull ConfigurationHolder<?> holder, @NotNull ValueType<T> type,
-                                            @NotNull Object source, @NotNull Type typeInstance) throws Exception {
+    private <T> @NotNull DeserializePlan<T> compileWithoutAdapter(@NotNull ValueType<T> type, @NotNull Type typeInstance) {
         Class<?> rawType = type.getRawType();
 
         if (rawType.isArray()) {
-            return deserializeArray(holder, type, source, rawType);
+            return compileArray(type, rawType.getComponentType());
         }
 
         if (typeInstance instanceof ParameterizedType) {
-            return deserializeParameterized(holder, type, source, (ParameterizedType) typeInstance);
+            return compileParameterized(type, (ParameterizedType) typeInstance);
         }
 
-        throw new RuntimeException("No adapter for type " + type);
+        return (holder, source) -> {
+            throw new RuntimeException("No adapter for type " + type);
+        };
     }
 
-    private <T> T deserializeArray(@NotNull ConfigurationHolder<?> holder, @NotNull ValueType<T> type,
-                                   @NotNull Object source, @NotNull Class<?> rawType) throws Exception {
-        List<?> list;
-        if (source instanceof List<?>) {
-            list = (List<?>) source;
-        } else {
+    private <T> @NotNull DeserializePlan<T> compileArray(@NotNull ValueType<T> type, @NotNull Class<?> componentType) {
+        DeserializePlan<?> componentPlan = elementPlanOf(componentType);
+        return (holder, source) -> {
             // For non-list sources, treat as single element array
-            list = Collections.singletonList(source);
-        }
-
-        int size = list.size();
-        if (size == 0) {
-            return type.cast(Array.newInstance(rawType.getComponentType(), 0));
-        }
-
-        Class<?> componentType = rawType.getComponentType();
-        Object[] array = (Object[]) Array.newInstance(componentType, size);
-        for (int i = 0; i < size; i++) {
-            array[i] = deserialize(holder, componentType, list.get(i));
-        }
-        return type.cast(array);
+            List<?> list = source instanceof List<?> ? (List<?>) source : Collections.singletonList(source);
+
+            int size = list.size();
+            Object array = Array.newInstance(componentType, size);
+            if (array instanceof Object[]) {
+                Object[] objects = (Object[]) array;
+                for (int i = 0; i < size; i++) {
+                    objects[i] = execute(holder, componentPlan, list.get(i));
+                }
+            } else { // Primitive arrays without specialized adapters, null elements keep the default value.
+                for (int i = 0; i < size; i++) {
+                    Object element = execute(holder, componentPlan, list.get(i));
+                    if (element != null) Array.set(array, i, element);
+                }
+            }
+            return type.cast(array);
+        };
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T deserializeParameterized(@NotNull ConfigurationHolder<?> holder, @NotNull ValueType<T> type,
-                                           @NotNull Object source, @NotNull ParameterizedType pt) throws Exception {
+    private <T> @NotNull DeserializePlan<T> compileParameterized(@NotNull ValueType<T> type, @NotNull ParameterizedType pt) {
         Type rawType = pt.getRawType();
         Type[] typeArgs = pt.getActualTypeArguments();
 
         if (rawType == List.class || rawType == Collection.class || rawType == ArrayList.class) {
-            return (T) deserializeCollection(holder, source, typeArgs[0], ArrayList::new);
+            return (DeserializePlan<T>) compileCollection(elementPlanOf(typeArgs[0]), ArrayList::new);
         }
 
         if (rawType == Set.class || rawType == HashSet.class) {
-            return (T) deserializeCollection(holder, source, typeArgs[0], HashSet::new);
+            return (DeserializePlan<T>) compileCollection(
+                elementPlanOf(typeArgs[0]), size -> new HashSet<>(Math.max(16, (int) (size / 0.75f) + 1))
+            );
         }
 
         if (rawType == Map.class || rawType == LinkedHashMap.class) {
-            return (T) deserializeMap(holder, source, typeArgs[0], typeArgs[1]);
+            return (DeserializePlan<T>) compileMap(elementPlanOf(typeArgs[0]), elementPlanOf(typeArgs[1]));
         }
 
-        throw new RuntimeException("No adapter for parameterized type " + type);
+        return (holder, source) -> {
+            throw new RuntimeException("No adapter for parameterized type " + type);
+        };
     }
 
-    private Collection<?> deserializeCollection(@NotNull ConfigurationHolder<?> holder, @NotNull Object source,
-                                                @NotNull Type elementType, @NotNull java.util.function.Supplier<Collection<Object>> collectionFactory) throws Exception {
-        ValueType<?> elementValueType = ValueType.of(elementType);
-        List<?> sourceList = deserializeList(holder, elementValueType, source);
-
-        if (sourceList.isEmpty()) {
-            return collectionFactory.get();
+    /**
+     * Get the plan of elements, for types that cannot be resolved like wildcards and type variables,
+     * the failure is deferred to the first element, so that absent or empty data can still be deserialized.
+     *
+     * @param type The type of elements
+     * @return The plan of elements
+     */
+    private @NotNull DeserializePlan<?> elementPlanOf(@NotNull Type type) {
+        ValueType<?> valueType = ValueType.of(type);
+        try {
+            return planOf(valueType);
+        } catch (RuntimeException ex) {
+            return (holder, source) -> planOf(valueType).deserialize(holder, source);
         }
+    }
 
-        Collection<Object> result = collectionFactory.get();
-        if (result instanceof ArrayList) {
-            ((ArrayList<Object>) result).ensureCapacity(sourceList.size());
-        }
+    private @NotNull DeserializePlan<Collection<Object>> compileCollection(@NotNull DeserializePlan<?> elementPlan,
+                                                                           @NotNull java.util.function.IntFunction<Collection<Object>> collectionFactory) {
+        return (holder, source) -> {
+            if (!(source instanceof List<?>)) { // Maybe singleton? Let's try to deserialize it as a single element list
+                Collection<Object> result = collectionFactory.apply(1);
+                Object item = execute(holder, elementPlan, source);
+                if (item != null) result.add(item);
+                return result;
+            }
 
-        for (Object item : sourceList) {
-            Object deserializedItem = deserialize(holder, elementValueType, item);
-            if (deserializedItem != null) {
-                result.add(deserializedItem);
+            List<?> list = (List<?>) source;
+            Collection<Object> result = collectionFactory.apply(list.size());
+            for (Object item : list) {
+                Object deserializedItem = execute(holder, elementPlan, item);
+                if (deserializedItem != null) {
+                    result.add(deserializedItem);
+                }
             }
-        }
-        return result;
+            return result;
+        };
     }
 
-    private Map<Object, Object> deserializeMap(@NotNull ConfigurationHolder<?> holder, @NotNull Object source,
-                                               @NotNull Type keyType, @NotNull Type valueType) throws Exception {
-        Map<?, ?> sourceMap;
-        if (source instanceof Map<?, ?>) {
-            sourceMap = (Map<?, ?>) source;
-        } else if (source instanceof ConfigureSection) {
-            sourceMap = ((ConfigureSection) source).asMap();
-        } else {
-            throw new IllegalArgumentException("Cannot deserialize to Map from " + source.getClass());
-        }
-
-        int mapSize = sourceMap.size();
-        if (mapSize == 0) {
-            return new LinkedHashMap<>();
-        }
+    private @NotNull DeserializePlan<Map<Object, Object>> compileMap(@NotNull DeserializePlan<?> keyPlan,
+                                                                     @NotNull DeserializePlan<?> valuePlan) {
+        return (holder, source) -> {
+            Map<?, ?> sourceMap;
+            if (source instanceof Map<?, ?>) {
+                sourceMap = (Map<?, ?>) source;
+            } else if (source instanceof ConfigureSection) {
+                sourceMap = ((ConfigureSection) source).asMap();
+            } else {
+                throw new IllegalArgumentException("Cannot deserialize to Map from " + source.getClass());
+            }
 
-        ValueType<?> keyValueType = ValueType.of(keyType);
-        ValueType<?> valueValueType = ValueType.of(valueType);
-        Map<Object, Object> resultMap = new LinkedHashMap<>(mapSize);
+            Map<Object, Object> resultMap = new LinkedHashMap<>(Math.max(16, (int) (sourceMap.size() / 0.75f) + 1));
+            for (Map.Entry<?, ?> entry : sourceMap.entrySet()) {
+                Object key = execute(holder, keyPlan, entry.getKey());
+                Object value = execute(holder, valuePlan, entry.getValue());
+                resultMap.put(key, value);
+            }
+            return resultMap;
+        };
+    }
 
-        for (Map.Entry<?, ?> entry : sourceMap.entrySet()) {
-            Object key = deserialize(holder, keyValueType, entry.getKey());
-            Object value = deserialize(holder, valueValueType, entry.getValue());
-            resultMap.put(key, value);
-        }
-        return resultMap;
+    private static @Nullable Object execute(@NotNull ConfigurationHolder<?> holder,
+                                            @NotNull DeserializePlan<?> plan, @Nullable Object source) throws Exception {
+        return source == null ? null : plan.deserialize(holder, source);
     }
 
     @Nullable
@@ -256,13 +338,20 @@ public class ValueAdapterRegistry {
         ValueAdapter<T> adapter = adapterOf(type);
         if (adapter != null) return adapter.serialize(holder, type, value);
 
-        if (value.getClass().isArray()) {
+        if (value instanceof Object[]) {
             Object[] array = (Object[]) value;
             List<Object> serializedList = new ArrayList<>(array.length);
             for (Object item : array) {
                 serializedList.add(serialize(holder, item));
             }
             return serializedList;
+        } else if (value.getClass().isArray()) { // Primitive arrays without specialized adapters
+            int length = Array.getLength(value);
+            List<Object> serializedList = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                serializedList.add(Array.get(value, i));
+            }
+            return serializedList;
         } else if (value instanceof Collection<?>) {
             Collection<?> collection = (Collection<?>) value;
             List<Object> serializedList = new ArrayList<>(collection.size());
@@ -287,22 +376,100 @@ public class ValueAdapterRegistry {
     protected <T> List<T> deserializeList(@NotNull ConfigurationHolder<?> holder,
                                           @NotNull ValueType<T> type, @Nullable Object source) throws Exception {
         if (source == null) return Collections.emptyList(); // Null check
+        DeserializePlan<T> plan = planOf(type);
         if (source instanceof List<?>) {
             List<?> list = (List<?>) source;
             List<T> result = new ArrayList<>(list.size());
             for (Object item : list) {
-                T deserializedItem = deserialize(holder, type, item);
+                T deserializedItem = item == null ? null : plan.deserialize(holder, item);
                 if (deserializedItem != null) {
                     result.add(deserializedItem);
                 }
             }
             return result;
         } else { // Maybe singleton? Let's try to deserialize it as a single element list
-            T deserializedItem = deserialize(holder, type, source);
+            T deserializedItem = plan.deserialize(holder, source);
             if (deserializedItem != null) {
                 return Collections.singletonList(deserializedItem);
             } else return Collections.emptyList();
         }
     }
 
+    /**
+     * Compiled plan to deserialize data into a specific type.
+     *
+     * @param <T> The type to deserialize to
+     * @see #planOf(ValueType)
+     */
+    @FunctionalInterface
+    public interface DeserializePlan<T> {
+
+        /**
+         * @param holder The holder of configuration
+         * @param source The data to deserialize, never null
+         * @return The deserialized value
+         * @throws Exception If any error occurred while deserializing
+         */
+        @Nullable T deserialize(@NotNull ConfigurationHolder<?> holder, @NotNull Object source) throws Exception;
+
+    }
+
+    /**
+     * Immutable index of adapters, by exact types and by raw classes.
+     * <br>Resolved raw classes (including the ones without adapter) and compiled plans are cached,
+     * the caches are dropped together with the index when adapters changed.
+     */
+    protected static final class AdapterIndex {
+
+        static final AdapterIndex EMPTY = new AdapterIndex(Collections.emptySet());
+
+        private static final ValueAdapter<?> NONE = new ValueAdapter<>(ValueType.OBJECT);
+
+        private final Map<ValueType<?>, ValueAdapter<?>> exact = new HashMap<>();
+        private final Map<Class<?>, ValueAdapter<?>> classes = new HashMap<>();
+        private final Map<Class<?>, ValueAdapter<?>> resolved = new ConcurrentHashMap<>();
+        private final Map<ValueType<?>, DeserializePlan<?>> plans = new ConcurrentHashMap<>();
+
+        AdapterIndex(@NotNull Collection<ValueAdapter<?>> adapters) {
+            for (ValueAdapter<?> adapter : adapters) {
+                this.exact.putIfAbsent(adapter.type(), adapter);
+                this.classes.putIfAbsent(adapter.type().getRawType(), adapter);
+            }
+        }
+
+        @Nullable ValueAdapter<?> lookup(@NotNull ValueType<?> type) {
+            ValueAdapter<?> adapter = this.exact.get(type);
+            if (adapter != null) return adapter;
+
+            Class<?> rawType = type.getRawType();
+            adapter = this.resolved.get(rawType);
+            if (adapter == null) {
+                adapter = this.resolved.computeIfAbsent(rawType, this::resolve);
+            }
+            return adapter == NONE ? null : adapter;
+        }
+
+        /**
+         * Walk the type hierarchy of the class (the class, its interfaces and super classes)
+         * by breadth-first order, and find the first registered adapter.
+         */
+        private @NotNull ValueAdapter<?> resolve(@NotNull Class<?> clazz) {
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            Set<Class<?>> visited = new HashSet<>();
+            queue.add(clazz);
+            while (!queue.isEmpty()) {
+                Class<?> current = queue.poll();
+                if (!visited.add(current)) continue;
+
+                ValueAdapter<?> adapter = this.classes.get(current);
+                if (adapter != null) return adapter;
+
+                queue.addAll(Arrays.asList(current.getInterfaces()));
+                if (current.getSuperclass() != null) queue.add(current.getSuperclass());
+            }
+            return NONE;
+        }
+
+    }
+
 }
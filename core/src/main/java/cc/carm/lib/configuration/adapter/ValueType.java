@@ -2,12 +2,12 @@ package cc.carm.lib.configuration.adapter;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * {@link ValueType} used to get the generic type of the value,
@@ -44,24 +44,71 @@ public abstract class ValueType<T> {
         INTEGER_TYPE, LONG_TYPE, DOUBLE_TYPE, FLOAT_TYPE, BOOLEAN_TYPE, BYTE_TYPE, SHORT_TYPE, CHAR_TYPE
     };
 
+    /**
+     * Canonical instances of classes, bound to the class so that it will not prevent classes unloading.
+     */
+    private static final ClassValue<ValueType<?>> CLASS_TYPES = new ClassValue<ValueType<?>>() {
+        @Override
+        protected ValueType<?> computeValue(@NotNull Class<?> type) {
+            if (type == Object.class) return OBJECT;
+            for (ValueType<?> valueType : PRIMITIVE_TYPES) {
+                if (valueType.getRawType() == type) return valueType;
+            }
+            return new ValueType<Object>(type) {
+            };
+        }
+    };
+
+    /**
+     * Canonical instances of other types, like parameterized types, grouped by their raw types.
+     * <br>Types and instances are weakly referenced, and groups are bound to the raw types,
+     * so neither the raw type nor its type arguments will be prevented from unloading.
+     */
+    private static final ClassValue<Map<Type, WeakReference<ValueType<?>>>> GENERIC_TYPES = new ClassValue<Map<Type, WeakReference<ValueType<?>>>>() {
+        @Override
+        protected Map<Type, WeakReference<ValueType<?>>> computeValue(@NotNull Class<?> rawType) {
+            return new WeakHashMap<>();
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T> ValueType<T> of(@NotNull T value) {
         return of((Class<T>) value.getClass());
     }
 
+    /**
+     * Get the canonical {@link ValueType} of the type,
+     * types that are equal will always return the same instance.
+     *
+     * @param type The type
+     * @param <T>  The type
+     * @return The shared {@link ValueType}
+     */
     @SuppressWarnings("unchecked")
     public static <T> ValueType<T> of(final Type type) {
         if (type == null) throw new NullPointerException("Type cannot be null");
-        if (type instanceof Class<?>) { // Try to fast handle primitive types
-            Class<?> clazz = (Class<?>) type;
-            for (ValueType<?> valueType : PRIMITIVE_TYPES) {
-                if (valueType.getRawType() == clazz) {
-                    return (ValueType<T>) valueType;
-                }
+        if (type instanceof Class<?>) return (ValueType<T>) CLASS_TYPES.get((Class<?>) type);
+
+        Map<Type, WeakReference<ValueType<?>>> types = GENERIC_TYPES.get(rawTypeOf(type));
+        synchronized (types) {
+            WeakReference<ValueType<?>> reference = types.get(type);
+            ValueType<?> cached = reference == null ? null : reference.get();
+            if (cached == null) {
+                cached = new ValueType<Object>(type) {
+                };
+                // Remove the stale entry first, so that the key is the type held by the new instance.
+                types.remove(type);
+                types.put(type, new WeakReference<>(cached));
             }
+            return (ValueType<T>) cached;
         }
-        return new ValueType<T>(type) {
-        };
+    }
+
+    private static @NotNull Class<?> rawTypeOf(@NotNull Type type) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class<?>) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class; // Generic arrays, type variables and wildcards
     }
 
     public static <T> ValueType<T> of(final @NotNull Class<T> clazz) {
@@ -93,23 +140,7 @@ public abstract class ValueType<T> {
      * @return The {@link ValueType}
      */
     public static <T> ValueType<T> of(final Class<?> rawType, final Type... types) {
-        ParameterizedType parameterizedType = new ParameterizedType() {
-            @Override
-            public @NotNull Type @NotNull [] getActualTypeArguments() {
-                return types;
-            }
-
-            @Override
-            public @NotNull Type getRawType() {
-                return rawType;
-            }
-
-            @Override
-            public Type getOwnerType() {
-                return null;
-            }
-        };
-        return of(parameterizedType);
+        return of(new SimpleParameterizedType(rawType, rawType.getDeclaringClass(), types.clone()));
     }
 
     @ApiStatus.Internal
@@ -119,13 +150,16 @@ public abstract class ValueType<T> {
     }
 
     private final Type type;
+    private final int hash;
 
     protected ValueType() {
         this.type = ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+        this.hash = Objects.hashCode(this.type);
     }
 
     private ValueType(Type type) {
         this.type = type;
+        this.hash = Objects.hashCode(type);
     }
 
     public Type getType() {
@@ -233,7 +267,8 @@ public abstract class ValueType<T> {
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj instanceof ValueType) {
-            return Objects.equals(type, ((ValueType<?>) obj).type);
+            ValueType<?> other = (ValueType<?>) obj;
+            return hash == other.hash && Objects.equals(type, other.type);
         }
         if (obj instanceof Type) {
             return Objects.equals(type, obj);
@@ -243,7 +278,71 @@ public abstract class ValueType<T> {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(type);
+        return hash;
+    }
+
+    /**
+     * {@link ParameterizedType} with value-based equality,
+     * compatible with the implementation of JDK, so it could be used as a cache key.
+     */
+    private static final class SimpleParameterizedType implements ParameterizedType {
+
+        private final @NotNull Class<?> rawType;
+        private final @Nullable Type ownerType;
+        private final @NotNull Type[] arguments;
+
+        private SimpleParameterizedType(@NotNull Class<?> rawType, @Nullable Type ownerType, @NotNull Type[] arguments) {
+            this.rawType = rawType;
+            this.ownerType = ownerType;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public @NotNull Type @NotNull [] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public @NotNull Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public @Nullable Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ParameterizedType)) return false;
+            ParameterizedType other = (ParameterizedType) obj;
+            return rawType.equals(other.getRawType())
+                && Objects.equals(ownerType, other.getOwnerType())
+                && Arrays.equals(arguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            // Same as the JDK implementation, which is "args ^ owner ^ raw".
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String getTypeName() {
+            StringBuilder sb = new StringBuilder(rawType.getName()).append('<');
+            for (int i = 0; i < arguments.length; i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(arguments[i].getTypeName());
+            }
+            return sb.append('>').toString();
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+
     }
 
 }
@@ -0,0 +1,104 @@
+package cc.carm.lib.configuration.adapter.strandard;
+
+import cc.carm.lib.configuration.adapter.ValueAdapter;
+import cc.carm.lib.configuration.adapter.ValueParser;
+import cc.carm.lib.configuration.adapter.ValueSerializer;
+import cc.carm.lib.configuration.adapter.ValueType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapters of primitive arrays, which read the elements from the source list directly
+ * and write them back to a list, without the generic element path.
+ * <br>Null elements will be read as the default value of the primitive type (0).
+ */
+public class PrimitiveArrayAdapter<T> extends ValueAdapter<T> {
+
+    public static PrimitiveArrayAdapter<int[]> ofIntArray() {
+        return new PrimitiveArrayAdapter<>(int[].class, (provider, type, value) -> {
+            List<Object> list = new ArrayList<>(value.length);
+            for (int element : value) list.add(element);
+            return list;
+        }, (provider, type, data) -> {
+            List<?> list = asList(data);
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                Object element = list.get(i);
+                if (element == null) continue;
+                array[i] = element instanceof Number ? ((Number) element).intValue() : Integer.parseInt(element.toString());
+            }
+            return array;
+        });
+    }
+
+    public static PrimitiveArrayAdapter<long[]> ofLongArray() {
+        return new PrimitiveArrayAdapter<>(long[].class, (provider, type, value) -> {
+            List<Object> list = new ArrayList<>(value.length);
+            for (long element : value) list.add(element);
+            return list;
+        }, (provider, type, data) -> {
+            List<?> list = asList(data);
+            long[] array = new long[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                Object element = list.get(i);
+                if (element == null) continue;
+                array[i] = element instanceof Number ? ((Number) element).longValue() : Long.parseLong(element.toString());
+            }
+            return array;
+        });
+    }
+
+    public static PrimitiveArrayAdapter<double[]> ofDoubleArray() {
+        return new PrimitiveArrayAdapter<>(double[].class, (provider, type, value) -> {
+            List<Object> list = new ArrayList<>(value.length);
+            for (double element : value) list.add(element);
+            return list;
+        }, (provider, type, data) -> {
+            List<?> list = asList(data);
+            double[] array = new double[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                Object element = list.get(i);
+                if (element == null) continue;
+                array[i] = element instanceof Number ? ((Number) element).doubleValue() : Double.parseDouble(element.toString());
+            }
+            return array;
+        });
+    }
+
+    public static PrimitiveArrayAdapter<byte[]> ofByteArray() {
+        return new PrimitiveArrayAdapter<>(byte[].class, (provider, type, value) -> {
+            List<Object> list = new ArrayList<>(value.length);
+            for (byte element : value) list.add(element);
+            return list;
+        }, (provider, type, data) -> {
+            List<?> list = asList(data);
+            byte[] array = new byte[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                Object element = list.get(i);
+                if (element == null) continue;
+                array[i] = element instanceof Number ? ((Number) element).byteValue() : Byte.parseByte(element.toString());
+            }
+            return array;
+        });
+    }
+
+    /**
+     * @param data The source data
+     * @return The data as list, or a singleton list if it is not a list.
+     */
+    protected static @NotNull List<?> asList(@Nullable Object data) {
+        if (data instanceof List<?>) return (List<?>) data;
+        return Collections.singletonList(data);
+    }
+
+    protected PrimitiveArrayAdapter(@NotNull Class<T> arrayType,
+                                    @NotNull ValueSerializer<T> serializer,
+                                    @NotNull ValueParser<T> parser) {
+        super(ValueType.of(arrayType), serializer, parser);
+    }
+
+}
@@ -17,6 +17,11 @@ public interface StandardAdapters {
         ofFloat(), ofFloatType(), ofShort(), ofShortType(), ofByte(), ofByteType()
     };
 
+    @NotNull PrimitiveArrayAdapter<?>[] PRIMITIVE_ARRAYS = new PrimitiveArrayAdapter[]{
+        PrimitiveArrayAdapter.ofIntArray(), PrimitiveArrayAdapter.ofLongArray(),
+        PrimitiveArrayAdapter.ofDoubleArray(), PrimitiveArrayAdapter.ofByteArray()
+    };
+
     @NotNull ValueAdapter<Enum<?>> ENUMS = PrimitiveAdapter.ofEnum();
 
     @NotNull ValueAdapter<UUID> UUID = new ValueAdapter<>(
@@ -3,6 +3,7 @@ package cc.carm.lib.configuration.builder.list;
 import cc.carm.lib.configuration.adapter.ValueType;
 import cc.carm.lib.configuration.builder.collection.SimpleCollectionCreator;
 import cc.carm.lib.configuration.value.standard.ConfiguredList;
+import cc.carm.lib.configuration.value.standard.LazyConfiguredList;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -14,4 +15,14 @@ public class ConfigListCreator<V> extends SimpleCollectionCreator<V, List<V>, Co
         super(type, ArrayList::new, ConfiguredList::new);
     }
 
+    /**
+     * Create a {@link LazyConfiguredList}, which parses elements on demand
+     * without materializing the whole list, for lists with a large number of elements.
+     *
+     * @return Creator of the lazy list
+     */
+    public @NotNull SimpleCollectionCreator<V, List<V>, LazyConfiguredList<V>> lazy() {
+        return SimpleCollectionCreator.create(type, defaultConstructor, LazyConfiguredList::new);
+    }
+
 }
@@ -7,6 +7,7 @@ import cc.carm.lib.configuration.function.DataFunction;
 import cc.carm.lib.configuration.function.ValueHandler;
 import cc.carm.lib.configuration.source.section.ConfigureSection;
 import cc.carm.lib.configuration.value.standard.ConfiguredMap;
+import cc.carm.lib.configuration.value.standard.LazyConfiguredMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
@@ -21,6 +22,7 @@ public class SectionMapBuilder<MAP extends Map<K, V>, K, V>
     protected @NotNull Supplier<? extends MAP> constructor;
     protected @NotNull ValueHandler<String, K> keyParser;
     protected @NotNull ValueHandler<K, String> keySerializer;
+    protected boolean lazy = false;
 
     public SectionMapBuilder(@NotNull Supplier<? extends MAP> constructor,
                              @NotNull ValueType<K> keyType, @NotNull ValueType<V> valueType,
@@ -88,8 +90,22 @@ public class SectionMapBuilder<MAP extends Map<K, V>, K, V>
             });
     }
 
+    /**
+     * Build a {@link LazyConfiguredMap}, which parses entries on demand
+     * and writes single entry changes directly, for maps with a large number of entries.
+     *
+     * @return this builder
+     */
+    public @NotNull SectionMapBuilder<MAP, K, V> lazy() {
+        this.lazy = true;
+        return this;
+    }
+
     @Override
     public @NotNull ConfiguredMap<K, V> build() {
+        if (this.lazy) {
+            return new LazyConfiguredMap<>(buildManifest(), this.constructor, buildKeyAdapter(), this.buildAdapter());
+        }
         return new ConfiguredMap<>(buildManifest(), this.constructor, buildKeyAdapter(), this.buildAdapter());
     }
 
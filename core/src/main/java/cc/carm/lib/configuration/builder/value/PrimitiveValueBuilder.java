@@ -0,0 +1,31 @@
+package cc.carm.lib.configuration.builder.value;
+
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.builder.CommonConfigBuilder;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.impl.PrimitiveConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+public class PrimitiveValueBuilder<V, R extends PrimitiveConfigValue<V>>
+    extends CommonConfigBuilder<V, V, R, PrimitiveValueBuilder<V, R>> {
+
+    protected final @NotNull Function<ValueManifest<V, V>, R> constructor;
+
+    public PrimitiveValueBuilder(@NotNull ValueType<V> type, @NotNull Function<ValueManifest<V, V>, R> constructor) {
+        super(type);
+        this.constructor = constructor;
+    }
+
+    @Override
+    protected PrimitiveValueBuilder<V, R> self() {
+        return this;
+    }
+
+    @Override
+    public @NotNull R build() {
+        return this.constructor.apply(buildManifest());
+    }
+
+}
@@ -43,6 +43,7 @@ public abstract class ConfigurationFactory<
 
     protected ConfigurationFactory() {
         this.adapters.register(StandardAdapters.PRIMITIVES);
+        this.adapters.register(StandardAdapters.PRIMITIVE_ARRAYS);
         this.adapters.register(StandardAdapters.SECTIONS);
         this.adapters.register(StandardAdapters.ENUMS);
         this.adapters.register(StandardAdapters.UUID);
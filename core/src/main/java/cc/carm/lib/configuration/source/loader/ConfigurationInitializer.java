@@ -178,6 +178,7 @@ public class ConfigurationInitializer {
                 String path = getFieldPath(holder, parent, field);
                 if (path == null) return;
                 value.initialize(holder, path);
+                value.bindAdapters(); // Bind adapters once, instead of resolving them for every parsing.
                 holder.metadata(path).set(StandardMeta.VALUE, value); // Mark the minimal config value unit.
                 if (holder.option(StandardOptions.SET_DEFAULTS)) {
                     value.setDefault(); // Set default value.
@@ -32,4 +32,34 @@ public interface StandardOptions {
      */
     ConfigurationOption<Boolean> PRELOAD = of(true);
 
+    /**
+     * Whether to convert nested maps to sections lazily when loading the source,
+     * may good to set true for large sources that only a small part will be read.
+     * <br> if true, nested maps are kept as is and converted when first accessed.
+     * <br> if false, all nested maps are converted to sections when loaded.
+     */
+    ConfigurationOption<Boolean> LAZY_SECTIONS = of(false);
+
+    /**
+     * Whether to maintain a flattened index of full paths at the source level,
+     * may good to set true for sources that are read deeply and frequently.
+     * <br> if true, deep gets are served by one lookup, and deep keys or values are not rebuilt for each call,
+     * but all modifications should be made through the source instead of its child sections.
+     * <br> Note: Deep keys and values of the source are read from the index, which are ordered by creation,
+     * paths created by modifications are appended after all existing paths,
+     * while without the index they are ordered by the tree, following their parent sections.
+     */
+    ConfigurationOption<Boolean> PATH_INDEX = of(false);
+
+    /**
+     * Whether the sections of sources should be safe for concurrent reads and writes,
+     * may good to set true for sources that are modified by multiple threads.
+     * <br> if true, sections are backed by insertion-ordered concurrent maps,
+     * reads never lock and can be performed while saving,
+     * lists are kept as read-only copies that are replaced instead of modified in place.
+     * <br> if false, sections are backed by plain linked maps, which should be modified by one thread at a time.
+     * <br> Memory sections are not bound to any source, so they never honor this option.
+     */
+    ConfigurationOption<Boolean> CONCURRENT_SECTIONS = of(false);
+
 }
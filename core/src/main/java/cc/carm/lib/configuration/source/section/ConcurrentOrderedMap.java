@@ -0,0 +1,291 @@
+package cc.carm.lib.configuration.source.section;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe map that keeps the insertion order of keys, used by concurrent sections and path indexes.
+ * <br>Reads never lock, and replacing the value of an existing key only locks the node of the key,
+ * only the insertion and removal of keys are serialized to keep the order.
+ * <br>The order is an append-only array of entry nodes, so inserting a key is amortized O(1).
+ * Removed nodes are only marked as removed, and are dropped by compacting the array
+ * once they outnumber the present ones, so removing a key is amortized O(1) too.
+ * <br>Iterators are weakly consistent, they traverse a snapshot of the key order
+ * and never throw {@link ConcurrentModificationException}.
+ * <p>Null values are supported, as the values are held by the nodes.
+ */
+final class ConcurrentOrderedMap extends AbstractMap<String, Object> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final Order EMPTY = new Order(new Node[0], 0);
+
+    private final @NotNull ConcurrentHashMap<String, Node> nodes;
+    /**
+     * Nodes in insertion order, the slots under its size are never modified after published.
+     */
+    private volatile @NotNull Order order = EMPTY;
+    /**
+     * Count of removed nodes still in the order, guarded by this.
+     */
+    private int removed = 0;
+
+    ConcurrentOrderedMap() {
+        this.nodes = new ConcurrentHashMap<>();
+    }
+
+    ConcurrentOrderedMap(@NotNull Map<String, Object> source) {
+        this.nodes = new ConcurrentHashMap<>(Math.max(16, source.size() * 2));
+        putAll(source);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key == null) return null;
+        Node node = this.nodes.get(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && this.nodes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.nodes.isEmpty();
+    }
+
+    @Override
+    public Object put(@NotNull String key, @Nullable Object value) {
+        Node existing = this.nodes.get(key);
+        if (existing != null) { // Existing keys keep their order.
+            synchronized (existing) {
+                if (!existing.removed) return existing.replace(value);
+            }
+        }
+
+        synchronized (this) {
+            existing = this.nodes.get(key);
+            if (existing != null) {
+                synchronized (existing) {
+                    return existing.replace(value);
+                }
+            }
+
+            Node node = new Node(key, value);
+            this.nodes.put(key, node);
+            Order current = this.order;
+            Node[] array = capacityFor(current, current.size + 1);
+            array[current.size] = node;
+            this.order = new Order(array, current.size + 1);
+            return null;
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key == null || !this.nodes.containsKey(key)) return null;
+        synchronized (this) {
+            Node node = this.nodes.remove(key);
+            if (node == null) return null;
+            Object previous = node.remove();
+            this.removed++;
+            compactIfSparse();
+            return previous;
+        }
+    }
+
+    /**
+     * Put all the entries with a single publication of the key order.
+     *
+     * @param source The entries to put
+     */
+    @Override
+    public void putAll(@NotNull Map<? extends String, ?> source) {
+        if (source.isEmpty()) return;
+        synchronized (this) {
+            Order current = this.order;
+            Node[] array = current.nodes;
+            int size = current.size;
+            for (Entry<? extends String, ?> entry : source.entrySet()) {
+                Node existing = this.nodes.get(entry.getKey());
+                if (existing != null) {
+                    synchronized (existing) {
+                        existing.replace(entry.getValue());
+                    }
+                    continue;
+                }
+                Node node = new Node(entry.getKey(), entry.getValue());
+                this.nodes.put(node.key, node);
+                if (size == array.length) array = grow(array, size, size + 1);
+                array[size++] = node;
+            }
+            if (size != current.size) this.order = new Order(array, size);
+        }
+    }
+
+    /**
+     * Remove all the keys with at most a single compaction of the key order.
+     *
+     * @param keys The keys to remove
+     */
+    void removeKeys(@NotNull Collection<String> keys) {
+        if (keys.isEmpty()) return;
+        synchronized (this) {
+            for (String key : keys) {
+                Node node = this.nodes.remove(key);
+                if (node == null) continue;
+                node.remove();
+                this.removed++;
+            }
+            compactIfSparse();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            Order current = this.order;
+            for (int i = 0; i < current.size; i++) current.nodes[i].remove();
+            this.nodes.clear();
+            this.order = EMPTY;
+            this.removed = 0;
+        }
+    }
+
+    /**
+     * @return An array that can hold the required size, the current one if it is large enough.
+     */
+    private static @NotNull Node[] capacityFor(@NotNull Order order, int required) {
+        if (required <= order.nodes.length) return order.nodes;
+        return grow(order.nodes, order.size, required);
+    }
+
+    private static @NotNull Node[] grow(@NotNull Node[] array, int size, int required) {
+        Node[] grown = new Node[Math.max(MIN_CAPACITY, Math.max(required, array.length * 2))];
+        System.arraycopy(array, 0, grown, 0, size);
+        return grown;
+    }
+
+    /**
+     * Drop the removed nodes into a new array, once they outnumber the present ones.
+     * <br>Must be called while holding the lock.
+     */
+    private void compactIfSparse() {
+        if (this.removed < MIN_CAPACITY || this.removed <= this.nodes.size()) return;
+        Order current = this.order;
+        Node[] array = new Node[Math.max(MIN_CAPACITY, this.nodes.size() * 2)];
+        int size = 0;
+        for (int i = 0; i < current.size; i++) {
+            Node node = current.nodes[i];
+            if (!node.removed) array[size++] = node;
+        }
+        this.order = new Order(array, size);
+        this.removed = 0;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator(order);
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+        };
+    }
+
+    /**
+     * Node of a key, which is replaced by a new one if the key is removed and put again.
+     * <br>Modifications lock the node, so a value is never replaced after the node removed.
+     */
+    private static final class Node {
+
+        private final @NotNull String key;
+        private volatile @Nullable Object value;
+        private volatile boolean removed;
+
+        private Node(@NotNull String key, @Nullable Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        private @Nullable Object replace(@Nullable Object value) {
+            Object previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        private synchronized @Nullable Object remove() {
+            this.removed = true;
+            return this.value;
+        }
+
+    }
+
+    /**
+     * Published snapshot of the order, with the count of slots in use.
+     */
+    private static final class Order {
+
+        private final @NotNull Node[] nodes;
+        private final int size;
+
+        private Order(@NotNull Node[] nodes, int size) {
+            this.nodes = nodes;
+            this.size = size;
+        }
+
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final @NotNull Order order;
+        private int cursor = 0;
+        private @Nullable Entry<String, Object> next;
+        private @Nullable String last;
+
+        private EntryIterator(@NotNull Order order) {
+            this.order = order;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && this.cursor < this.order.size) {
+                Node node = this.order.nodes[this.cursor++];
+                if (!node.removed) this.next = new SimpleImmutableEntry<>(node.key, node.value); // Skip removed keys
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<String, Object> entry = this.next;
+            this.next = null;
+            this.last = entry.getKey();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) throw new IllegalStateException();
+            ConcurrentOrderedMap.this.remove(this.last);
+            this.last = null;
+        }
+
+    }
+
+}
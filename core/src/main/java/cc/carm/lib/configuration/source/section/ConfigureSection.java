@@ -67,6 +67,18 @@ public interface ConfigureSection {
         return parent() == null;
     }
 
+    /**
+     * Gets the modification stamp of this section.
+     * <br>The stamp changes after every modification of this section or its child sections,
+     * so views derived from this section can be reused while the stamp is unchanged.
+     * <br>Modifications made directly to lists in this section are not tracked.
+     *
+     * @return The modification stamp, or -1 if modifications are not tracked by this section.
+     */
+    default long stamp() {
+        return -1;
+    }
+
     /**
      * Gets if this section is empty.
      *
@@ -130,6 +142,32 @@ public interface ConfigureSection {
     @UnmodifiableView
     Map<String, Object> getValues(boolean deep);
 
+    /**
+     * Gets a live view of all key-values in this section, which is neither copied nor built for each call.
+     * <br>Unlike the deep values of {@link #getValues(boolean)} that are snapshots,
+     * the view reflects later modifications, so this section should not be modified while iterating it.
+     *
+     * @param deep Whether to include the values of child sections (and their children paths).
+     * @return Live view of data values contained within this Section.
+     */
+    @NotNull
+    @UnmodifiableView
+    default Map<String, Object> viewValues(boolean deep) {
+        return getValues(deep);
+    }
+
+    /**
+     * Gets a live view of all keys in this section, see {@link #viewValues(boolean)}.
+     *
+     * @param deep Whether to include the keys of child sections (and their children paths).
+     * @return Live view of keys contained within this Section.
+     */
+    @NotNull
+    @UnmodifiableView
+    default Set<String> viewKeys(boolean deep) {
+        return viewValues(deep).keySet();
+    }
+
     /**
      * Gets a set containing all key-values in this section.
      *
@@ -162,6 +200,17 @@ public interface ConfigureSection {
         return values().entrySet().stream();
     }
 
+    /**
+     * Create a stream of all values in this section.
+     *
+     * @param deep Whether to include the values of child sections (and their children paths).
+     * @return Stream of all values in this section, backed by the live view that is never copied.
+     * @see #viewValues(boolean)
+     */
+    default Stream<Map.Entry<String, Object>> stream(boolean deep) {
+        return viewValues(deep).entrySet().stream();
+    }
+
     /**
      * Iterates over all key-values in this section (include child sections)
      *
@@ -203,7 +252,11 @@ public interface ConfigureSection {
      * @return True if the value is present, false otherwise.
      */
     default boolean contains(@NotNull String path) {
-        return getKeys(true).contains(path);
+        int index = path.lastIndexOf(pathSeparator());
+        if (index == -1) return getValues(false).containsKey(path);
+
+        ConfigureSection parent = getSection(path.substring(0, index));
+        return parent != null && parent.getValues(false).containsKey(path.substring(index + 1));
     }
 
     /**
@@ -395,6 +448,18 @@ public interface ConfigureSection {
      */
     @Nullable Object get(@NotNull String path);
 
+    /**
+     * Get the direct child value of this section,
+     * the key will be used as is and never split by {@link #pathSeparator()}.
+     *
+     * @param key The key of the child value.
+     * @return The child value, or null if not found.
+     * @see SectionPath
+     */
+    default @Nullable Object getChild(@NotNull String key) {
+        return get(key);
+    }
+
     /**
      * Get the value of the path for specific type,
      * if the path does not exist, return null.
@@ -492,6 +557,25 @@ public interface ConfigureSection {
         return get(path, def, DataFunction.booleanValue());
     }
 
+    /**
+     * Get the value as a primitive boolean from the specified path, without boxing.
+     *
+     * @param path The path to get the boolean.
+     * @param def  The default value to return if the path does not exist or is not a boolean.
+     * @return The boolean if the path exists and is a boolean, otherwise the default value.
+     * @see DataFunction#booleanValue()
+     */
+    default boolean getBooleanValue(@NotNull String path, boolean def) {
+        Object value = get(path);
+        if (value instanceof Boolean) return (Boolean) value;
+        if (value instanceof String) {
+            String s = (String) value;
+            return Boolean.parseBoolean(s) || "yes".equalsIgnoreCase(s);
+        }
+        if (value instanceof Integer) return (Integer) value == 1;
+        return def;
+    }
+
     /**
      * Predicate the value of given path is a {@link Byte}.
      *
@@ -588,6 +672,18 @@ public interface ConfigureSection {
         return get(path, def, DataFunction.intValue());
     }
 
+    /**
+     * Get the value as a primitive int from the specified path, without boxing.
+     *
+     * @param path The path to get the int.
+     * @param def  The default value to return if the path does not exist or is not a number.
+     * @return The int if the path exists and is a number, otherwise the default value.
+     */
+    default int getIntValue(@NotNull String path, int def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).intValue() : def;
+    }
+
 
     /**
      * Predicate the value of given path is a {@link Long}.F
@@ -621,6 +717,18 @@ public interface ConfigureSection {
         return get(path, def, DataFunction.longValue());
     }
 
+    /**
+     * Get the value as a primitive long from the specified path, without boxing.
+     *
+     * @param path The path to get the long.
+     * @param def  The default value to return if the path does not exist or is not a number.
+     * @return The long if the path exists and is a number, otherwise the default value.
+     */
+    default long getLongValue(@NotNull String path, long def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).longValue() : def;
+    }
+
     /**
      * Predicate the value of given path is a {@link Float}.
      *
@@ -685,6 +793,18 @@ public interface ConfigureSection {
         return get(path, def, DataFunction.doubleValue());
     }
 
+    /**
+     * Get the value as a primitive double from the specified path, without boxing.
+     *
+     * @param path The path to get the double.
+     * @param def  The default value to return if the path does not exist or is not a number.
+     * @return The double if the path exists and is a number, otherwise the default value.
+     */
+    default double getDoubleValue(@NotNull String path, double def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).doubleValue() : def;
+    }
+
     /**
      * Predicate the value of given path is a {@link Character}.
      *
@@ -808,6 +928,63 @@ public interface ConfigureSection {
         return getList(path, DataFunction.doubleValue());
     }
 
+    /**
+     * Get an array of int from current section, without boxing or intermediate lists.
+     * <p> Elements that are not numbers will be skipped, like {@link #getIntegerList(String)}.
+     *
+     * @param path The path to get the array from
+     * @return The array of int values, empty if the path does not exist or is not a list.
+     */
+    default int @NotNull [] getIntArray(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new int[0];
+
+        int[] values = new int[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Number) values[size++] = ((Number) element).intValue();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Get an array of long from current section, without boxing or intermediate lists.
+     * <p> Elements that are not numbers will be skipped, like {@link #getLongList(String)}.
+     *
+     * @param path The path to get the array from
+     * @return The array of long values, empty if the path does not exist or is not a list.
+     */
+    default long @NotNull [] getLongArray(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new long[0];
+
+        long[] values = new long[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Number) values[size++] = ((Number) element).longValue();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Get an array of double from current section, without boxing or intermediate lists.
+     * <p> Elements that are not numbers will be skipped, like {@link #getDoubleList(String)}.
+     *
+     * @param path The path to get the array from
+     * @return The array of double values, empty if the path does not exist or is not a list.
+     */
+    default double @NotNull [] getDoubleArray(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new double[0];
+
+        double[] values = new double[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Number) values[size++] = ((Number) element).doubleValue();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
     /**
      * Get a list of floats from current section
      * <p> Limitations see {@link #getList(String, DataFunction)}
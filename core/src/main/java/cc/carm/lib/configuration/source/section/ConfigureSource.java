@@ -2,10 +2,12 @@ package cc.carm.lib.configuration.source.section;
 
 import cc.carm.lib.configuration.source.ConfigurationHolder;
 import cc.carm.lib.configuration.source.option.StandardOptions;
+import cc.carm.lib.configuration.value.ConfigValue;
+import cc.carm.lib.configuration.value.impl.CachedConfigValue;
 import org.jetbrains.annotations.*;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ConfigureSource represents the source of configuration,
@@ -22,11 +24,20 @@ public abstract class ConfigureSource<
     implements ConfigureSection {
 
     protected final @NotNull ConfigurationHolder<? extends SELF> holder;
-    protected long lastUpdateMillis;
+    /**
+     * The published root section with its generation, update time and index of paths,
+     * which are always replaced together so that readers never see a mix of them.
+     */
+    private final @NotNull AtomicReference<Snapshot<SECTION>> snapshot;
+
+    /**
+     * Lock of modifications that maintain the path index.
+     */
+    private final @NotNull Object indexLock = new Object();
 
     protected ConfigureSource(@NotNull ConfigurationHolder<? extends SELF> holder, long lastUpdateMillis) {
         this.holder = holder;
-        this.lastUpdateMillis = lastUpdateMillis;
+        this.snapshot = new AtomicReference<>(new Snapshot<>(null, 0, lastUpdateMillis, null));
     }
 
     public @NotNull ConfigurationHolder<? extends SELF> holder() {
@@ -34,8 +45,73 @@ public abstract class ConfigureSource<
     }
 
     public void reload() throws Exception {
+        Snapshot<SECTION> before = this.snapshot.get();
+        SECTION previous = before.root;
+        long previousGeneration = before.generation;
+
         onReload(); // 调用重写的Reload方法
-        this.lastUpdateMillis = System.currentTimeMillis();
+
+        Snapshot<SECTION> after = this.snapshot.get();
+        if (after.root == null || after.root == previous) {
+            // Not published by onReload(), the root section is managed by the source itself.
+            this.snapshot.updateAndGet(s -> s.next(s.root, System.currentTimeMillis()));
+            return; // Cannot tell what changed, all values are outdated by the new generation.
+        }
+
+        SECTION current = after.root;
+        if (previous == null) return; // Loaded for the first time.
+
+        long currentGeneration = generation();
+        if (currentGeneration != previousGeneration + 1) return; // Modified by others while reloading.
+
+        // Values whose data was not changed keep their parsed objects.
+        for (Map.Entry<String, ConfigValue<?, ?>> entry : holder().registeredValues().entrySet()) {
+            if (!(entry.getValue() instanceof CachedConfigValue<?, ?>)) continue;
+            String path = entry.getKey();
+            ((CachedConfigValue<?, ?>) entry.getValue()).revalidate(
+                previousGeneration, currentGeneration,
+                () -> sameData(previous.get(path), current.get(path))
+            );
+        }
+    }
+
+    /**
+     * Compare the data of two sections structurally, without copying them.
+     *
+     * @param previous The data before reload
+     * @param current  The data after reload
+     * @return Whether the data are the same
+     */
+    protected static boolean sameData(@Nullable Object previous, @Nullable Object current) {
+        if (previous == current) return true;
+        if (previous == null || current == null) return false;
+
+        if (previous instanceof ConfigureSection) {
+            if (!(current instanceof ConfigureSection)) return false;
+            Map<String, Object> previousValues = ((ConfigureSection) previous).getValues(false);
+            Map<String, Object> currentValues = ((ConfigureSection) current).getValues(false);
+            if (previousValues.size() != currentValues.size()) return false;
+            for (Map.Entry<String, Object> entry : previousValues.entrySet()) {
+                Object value = currentValues.get(entry.getKey());
+                if (value == null && !currentValues.containsKey(entry.getKey())) return false;
+                if (!sameData(entry.getValue(), value)) return false;
+            }
+            return true;
+        }
+
+        if (previous instanceof List<?>) {
+            if (!(current instanceof List<?>)) return false;
+            List<?> previousList = (List<?>) previous;
+            List<?> currentList = (List<?>) current;
+            if (previousList.size() != currentList.size()) return false;
+            Iterator<?> iterator = currentList.iterator();
+            for (Object element : previousList) {
+                if (!iterator.hasNext() || !sameData(element, iterator.next())) return false;
+            }
+            return true;
+        }
+
+        return previous.equals(current);
     }
 
     @Contract(pure = true)
@@ -43,6 +119,10 @@ public abstract class ConfigureSource<
     protected abstract @NotNull SELF self();
 
     /**
+     * Note: Built-in sources return the data map of their root section,
+     * which is read-only if {@link StandardOptions#LAZY_SECTIONS} enabled or the section frozen,
+     * modifications should be made by {@link #set(String, Object)} instead.
+     *
      * @return The original configuration object.
      */
     @Contract(pure = true)
@@ -53,6 +133,32 @@ public abstract class ConfigureSource<
      */
     public abstract @NotNull SECTION section();
 
+    /**
+     * Publish a completely loaded root section, together with a new generation and update time in one atomic step,
+     * so that readers will see either the previous root section or the new one, but never a mix of them.
+     * The index of paths built for the previous root section is dropped in the same step.
+     * <br>Implementations should build the new root section aside in {@link #onReload()},
+     * and publish it at last, instead of modifying the current root section in place.
+     * <br>Note: Built-in sources used to keep the root section in their own {@code rootSection} fields,
+     * which were removed in favor of this method, subclasses should use {@link #published()} instead.
+     * The protected {@code lastUpdateMillis} field of this class was removed as well,
+     * as the update time is published together with the root section,
+     * subclasses should use {@link #getLastUpdateMillis()} to read it, and this method to update it.
+     *
+     * @param root The new root section
+     */
+    protected void publish(@NotNull SECTION root) {
+        long now = System.currentTimeMillis();
+        this.snapshot.updateAndGet(s -> s.next(root, now));
+    }
+
+    /**
+     * @return The root section published by {@link #publish(ConfigureSection)}, or null if not published yet.
+     */
+    protected @Nullable SECTION published() {
+        return this.snapshot.get().root;
+    }
+
     /**
      * Save the whole configuration.
      *
@@ -73,14 +179,112 @@ public abstract class ConfigureSource<
         return holder().options().get(StandardOptions.PATH_SEPARATOR);
     }
 
+    /**
+     * @return The time of the last published root section, replacing the removed {@code lastUpdateMillis} field.
+     * @see #publish(ConfigureSection)
+     */
     public long getLastUpdateMillis() {
-        return this.lastUpdateMillis;
+        return this.snapshot.get().lastUpdateMillis;
     }
 
+    /**
+     * @param parsedTime The time that the value was parsed.
+     * @return Whether the source was reloaded after the time.
+     * @deprecated Two reloads in the same millisecond are indistinguishable,
+     * use {@link #generation()} to check if a value is outdated.
+     */
+    @Deprecated
     public boolean isExpired(long parsedTime) {
         return getLastUpdateMillis() > parsedTime;
     }
 
+    /**
+     * Get the current generation of this source.
+     * <br>The generation is a monotonic number that changes after every reload,
+     * values parsed from an older generation should be parsed again.
+     * <br>Modifications change the generation only if the root section is not tracked by {@link #stamp()},
+     * otherwise values will find out the change of their data by the stamps of sections.
+     *
+     * @return Current generation
+     */
+    public long generation() {
+        return this.snapshot.get().generation;
+    }
+
+    /**
+     * Mark this source as updated, all values parsed before will be outdated.
+     *
+     * @return The new generation
+     */
+    public long updated() {
+        return this.snapshot.updateAndGet(s -> s.next(s.root, s.lastUpdateMillis)).generation;
+    }
+
+    /**
+     * Get the flattened values of all full paths, built from the root section once for each generation and stamp.
+     * <br>Modifications through this source update the index incrementally,
+     * while reloads and modifications made to child sections directly outdate it,
+     * and it will be rebuilt when used.
+     * <br>The index is safe to be read while modifying, new paths are appended to it in the order they were created.
+     *
+     * @return The index of full paths to values, or null if {@link StandardOptions#PATH_INDEX} disabled.
+     */
+    protected @Nullable Map<String, Object> indexedValues() {
+        if (!holder().options().get(StandardOptions.PATH_INDEX)) return null;
+
+        Snapshot<SECTION> snapshot = this.snapshot.get();
+        long stamp = stamp();
+        PathIndex index = snapshot.index;
+        if (index != null && index.stamp == stamp) return index.values;
+
+        // Tagged with the stamp read before building, and kept only if the snapshot was not replaced,
+        // so an index built from an outdated root will never be used.
+        index = new PathIndex(stamp, new ConcurrentOrderedMap(section().viewValues(true)));
+        this.snapshot.compareAndSet(snapshot, snapshot.indexed(index));
+        return index.values;
+    }
+
+    /**
+     * Update the index of paths after the path modified, only the path, its parents and its children are touched.
+     * <br>Must be called with {@link #indexLock} held.
+     *
+     * @param values   The index of paths
+     * @param path     The path modified
+     * @param previous The value of the path before modified
+     */
+    private void reindex(@NotNull ConcurrentOrderedMap values, @NotNull String path, @Nullable Object previous) {
+        char separator = pathSeparator();
+        if (previous instanceof ConfigureSection) {
+            values.removeKeys(prefixed(path, ((ConfigureSection) previous).viewKeys(true)));
+        }
+        if (!section().contains(path)) {
+            values.remove(path);
+            return;
+        }
+
+        // Parent sections may be created or replaced by the modification.
+        for (int index = path.indexOf(separator); index != -1; index = path.indexOf(separator, index + 1)) {
+            String parent = path.substring(0, index);
+            if (!(values.get(parent) instanceof ConfigureSection)) values.put(parent, section().get(parent));
+        }
+
+        Object current = section().get(path);
+        values.put(path, current);
+        if (current instanceof ConfigureSection) {
+            Map<String, Object> children = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((ConfigureSection) current).viewValues(true).entrySet()) {
+                children.put(path + separator + entry.getKey(), entry.getValue());
+            }
+            values.putAll(children);
+        }
+    }
+
+    private @NotNull List<String> prefixed(@NotNull String path, @NotNull Collection<String> keys) {
+        List<String> paths = new ArrayList<>(keys.size());
+        for (String key : keys) paths.add(path + pathSeparator() + key);
+        return paths;
+    }
+
     /**
      * Source also represents the root section, so it has no parent
      *
@@ -97,14 +301,49 @@ public abstract class ConfigureSource<
         return "";
     }
 
+    @Override
+    public long stamp() {
+        return section().stamp();
+    }
+
+    /**
+     * @param deep Whether to get a deep map.
+     * @return The values of the root section, or the read-only view of the index of paths if deep and indexed,
+     * which can be iterated while modifying, see {@link StandardOptions#PATH_INDEX}.
+     */
     @Override
     public @NotNull Map<String, Object> getValues(boolean deep) {
-        return section().getValues(deep);
+        Map<String, Object> index = deep ? indexedValues() : null;
+        return index == null ? section().getValues(deep) : Collections.unmodifiableMap(index);
     }
 
+    /**
+     * @param deep Whether to get a deep set.
+     * @return The keys of the root section, or the read-only view of the indexed paths if deep and indexed,
+     * which can be iterated while modifying, see {@link StandardOptions#PATH_INDEX}.
+     */
     @Override
     public @NotNull @UnmodifiableView Set<String> getKeys(boolean deep) {
-        return section().getKeys(deep);
+        Map<String, Object> index = deep ? indexedValues() : null;
+        return index == null ? section().getKeys(deep) : Collections.unmodifiableSet(index.keySet());
+    }
+
+    @Override
+    public @NotNull @UnmodifiableView Map<String, Object> viewValues(boolean deep) {
+        Map<String, Object> index = deep ? indexedValues() : null;
+        return index == null ? section().viewValues(deep) : Collections.unmodifiableMap(index);
+    }
+
+    @Override
+    public int size(boolean deep) {
+        Map<String, Object> index = deep ? indexedValues() : null;
+        return index == null ? section().size(deep) : index.size();
+    }
+
+    @Override
+    public boolean contains(@NotNull String path) {
+        Map<String, Object> index = indexedValues();
+        return index == null ? section().contains(path) : index.containsKey(path);
     }
 
     @Override
@@ -119,17 +358,96 @@ public abstract class ConfigureSource<
 
     @Override
     public void set(@NotNull String path, @Nullable Object value) {
-        section().set(path, value);
+        modify(path, () -> section().set(path, value));
     }
 
     @Override
     public void remove(@NotNull String path) {
-        section().remove(path);
+        modify(path, () -> section().remove(path));
+    }
+
+    /**
+     * Modify the path of the root section, and then update the generation or the index of paths.
+     *
+     * @param path         The path to modify
+     * @param modification The modification
+     */
+    private void modify(@NotNull String path, @NotNull Runnable modification) {
+        if (!holder().options().get(StandardOptions.PATH_INDEX)) {
+            modification.run();
+            if (stamp() == -1) updated(); // Modifications are not tracked by stamps.
+            return;
+        }
+
+        synchronized (this.indexLock) {
+            PathIndex index = this.snapshot.get().index;
+            boolean indexed = index != null && index.stamp == stamp();
+            Object previous = indexed ? index.values.get(path) : null;
+
+            modification.run();
+            if (stamp() == -1) {
+                updated();
+            } else if (indexed) {
+                reindex(index.values, path, previous);
+                PathIndex stamped = new PathIndex(stamp(), index.values);
+                // Dropped if the snapshot was replaced by reloads meanwhile.
+                this.snapshot.updateAndGet(s -> s.index == index ? s.indexed(stamped) : s);
+            }
+        }
     }
 
     @Override
     public @Nullable Object get(@NotNull String path) {
-        return section().get(path);
+        Map<String, Object> index = indexedValues();
+        return index == null ? section().get(path) : index.get(path);
+    }
+
+    @Override
+    public @Nullable Object getChild(@NotNull String key) {
+        return section().getChild(key);
+    }
+
+    /**
+     * Flattened index of full paths, only used if {@link StandardOptions#PATH_INDEX} enabled,
+     * valid only for the snapshot that holds it and the stamp it was built at.
+     */
+    private static final class PathIndex {
+
+        private final long stamp;
+        private final @NotNull ConcurrentOrderedMap values;
+
+        private PathIndex(long stamp, @NotNull ConcurrentOrderedMap values) {
+            this.stamp = stamp;
+            this.values = values;
+        }
+
+    }
+
+    private static final class Snapshot<SECTION> {
+
+        private final @Nullable SECTION root;
+        private final long generation;
+        private final long lastUpdateMillis;
+        private final @Nullable PathIndex index;
+
+        private Snapshot(@Nullable SECTION root, long generation, long lastUpdateMillis, @Nullable PathIndex index) {
+            this.root = root;
+            this.generation = generation;
+            this.lastUpdateMillis = lastUpdateMillis;
+            this.index = index;
+        }
+
+        /**
+         * @return The next generation of the snapshot, the index of paths is dropped.
+         */
+        private @NotNull Snapshot<SECTION> next(@Nullable SECTION root, long lastUpdateMillis) {
+            return new Snapshot<>(root, this.generation + 1, lastUpdateMillis, null);
+        }
+
+        private @NotNull Snapshot<SECTION> indexed(@Nullable PathIndex index) {
+            return new Snapshot<>(this.root, this.generation, this.lastUpdateMillis, index);
+        }
+
     }
 
 }
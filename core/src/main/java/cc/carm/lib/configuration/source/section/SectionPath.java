@@ -0,0 +1,137 @@
+package cc.carm.lib.configuration.source.section;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A section path that already split into keys by the path separator.
+ * <br>Compile the path once and lookup it many times,
+ * the lookups will not split or create any strings.
+ *
+ * @author Carm
+ * @since 4.2.1
+ */
+public final class SectionPath {
+
+    /**
+     * Maximum number of paths kept by {@link #cached(String, char)},
+     * paths beyond the limit are compiled for each call.
+     */
+    private static final int CACHE_LIMIT = 1024;
+    private static final Map<String, SectionPath> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Get the compiled path from a shared cache, or compile it if absent.
+     * <br>Used by lookups of dotted strings, so repeated reads of the same path never split it again.
+     *
+     * @param path      The path string
+     * @param separator The path separator
+     * @return The compiled path
+     */
+    public static @NotNull SectionPath cached(@NotNull String path, char separator) {
+        SectionPath cached = CACHE.get(path);
+        if (cached != null && cached.separator == separator) return cached;
+
+        SectionPath compiled = of(path, separator);
+        if (CACHE.size() < CACHE_LIMIT) CACHE.put(path, compiled);
+        return compiled;
+    }
+
+    public static @NotNull SectionPath of(@NotNull String path, char separator) {
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = path.indexOf(separator, start)) != -1) {
+            keys.add(path.substring(start, index));
+            start = index + 1;
+        }
+        keys.add(path.substring(start));
+        return new SectionPath(path, separator, keys.toArray(new String[0]));
+    }
+
+    private final @NotNull String path;
+    private final char separator;
+    private final @NotNull String[] keys;
+
+    private SectionPath(@NotNull String path, char separator, @NotNull String[] keys) {
+        this.path = path;
+        this.separator = separator;
+        this.keys = keys;
+    }
+
+    public @NotNull String path() {
+        return path;
+    }
+
+    public char separator() {
+        return separator;
+    }
+
+    public int depth() {
+        return keys.length;
+    }
+
+    public @NotNull String key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return The last key of the path, which is the key of value in its {@link #parentIn(ConfigureSection) parent}.
+     */
+    public @NotNull String lastKey() {
+        return keys[keys.length - 1];
+    }
+
+    /**
+     * Find the section that directly contains the value of this path.
+     * <br>This is a read-only traversal, missing sections will not be created.
+     *
+     * @param root The section to start from
+     * @return The parent section of the value, or null if any section in the path is absent.
+     */
+    public @Nullable ConfigureSection parentIn(@NotNull ConfigureSection root) {
+        ConfigureSection current = root;
+        for (int i = 0; i < keys.length - 1; i++) {
+            Object child = current.getChild(keys[i]);
+            if (!(child instanceof ConfigureSection)) return null;
+            current = (ConfigureSection) child;
+        }
+        return current;
+    }
+
+    /**
+     * Get the value of this path from the section.
+     *
+     * @param root The section to start from
+     * @return The value at the path, or null if not found.
+     */
+    public @Nullable Object get(@NotNull ConfigureSection root) {
+        ConfigureSection parent = parentIn(root);
+        return parent == null ? null : parent.getChild(lastKey());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SectionPath)) return false;
+        SectionPath that = (SectionPath) o;
+        return separator == that.separator && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * path.hashCode() + separator;
+    }
+
+    @Override
+    public String toString() {
+        return "SectionPath" + Arrays.toString(keys);
+    }
+
+}
@@ -40,6 +40,13 @@ public abstract class ConfigValue<T, U> extends ValueManifest<T, U> {
         super(manifest);
     }
 
+    /**
+     * Resolve and bind the adapters used by this value from the adapter registry of holder,
+     * called by the initializer once after the value initialized.
+     */
+    public void bindAdapters() {
+    }
+
     /**
      * Gets the configured value (i.e., the value read from the source).
      * <br> If no default value was written during initialization, you can use
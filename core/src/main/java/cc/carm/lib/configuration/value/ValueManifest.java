@@ -4,22 +4,37 @@ import cc.carm.lib.configuration.adapter.ValueType;
 import cc.carm.lib.configuration.function.ValueValidator;
 import cc.carm.lib.configuration.source.ConfigurationHolder;
 import cc.carm.lib.configuration.source.meta.ConfigurationMetaHolder;
+import cc.carm.lib.configuration.source.option.StandardOptions;
+import cc.carm.lib.configuration.source.section.ConfigureSection;
 import cc.carm.lib.configuration.source.section.ConfigureSource;
+import cc.carm.lib.configuration.source.section.SectionPath;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 public class ValueManifest<TYPE, UNIT> {
 
+    /**
+     * Sequence of data versions shared by all values.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
     protected final @NotNull ValueType<TYPE> type;
     protected final @NotNull BiConsumer<@NotNull ConfigurationHolder<?>, @NotNull String> initializer;
 
     protected @Nullable ConfigurationHolder<?> holder;
     protected @Nullable String path; // Section path
 
+    protected @Nullable SectionPath sectionPath; // Compiled section path
+    private volatile @Nullable PathHandle handle; // Resolved parent section of the path
+    private final @NotNull AtomicReference<@Nullable DataVersion> dataVersion = new AtomicReference<>();
+
     protected @NotNull ValueValidator<UNIT> validator;
     protected @NotNull Supplier<@Nullable TYPE> defaultSupplier;
 
@@ -72,7 +87,13 @@ public class ValueManifest<TYPE, UNIT> {
     }
 
     protected void initialize() {
-        if (holder != null && path != null) this.initializer.accept(holder, path);
+        this.handle = null;
+        this.dataVersion.set(null);
+        this.sectionPath = null;
+        if (holder != null && path != null) {
+            this.sectionPath = SectionPath.of(path, holder.options().get(StandardOptions.PATH_SEPARATOR));
+            this.initializer.accept(holder, path);
+        }
     }
 
     public @NotNull ValueType<TYPE> type() {
@@ -81,10 +102,15 @@ public class ValueManifest<TYPE, UNIT> {
 
     public void holder(@NotNull ConfigurationHolder<?> holder) {
         this.holder = holder;
+        this.handle = null;
+        this.dataVersion.set(null);
     }
 
     public void path(@NotNull String path) {
         this.path = path;
+        this.sectionPath = null;
+        this.handle = null;
+        this.dataVersion.set(null);
     }
 
     public @Nullable TYPE defaults() {
@@ -140,7 +166,121 @@ public class ValueManifest<TYPE, UNIT> {
 
     @ApiStatus.Internal
     protected @Nullable Object getData() {
-        return config().get(path());
+        PathHandle handle = handle(config());
+        return handle.parent == null ? null : handle.parent.getChild(handle.path.lastKey());
+    }
+
+    /**
+     * Get the resolved parent section of the path,
+     * which is resolved again only if the source reloaded or any section in it modified.
+     *
+     * @param source The source to resolve from
+     * @return The up-to-date handle
+     */
+    private @NotNull PathHandle handle(@NotNull ConfigureSource<?, ?, ?> source) {
+        return handle(source, source.generation());
+    }
+
+    private @NotNull PathHandle handle(@NotNull ConfigureSource<?, ?, ?> source, long generation) {
+        long stamp = source.stamp();
+        PathHandle handle = this.handle;
+        if (handle != null && handle.validFor(generation, stamp)) return handle;
+        return resolve(source, generation, stamp);
+    }
+
+    /**
+     * Resolve the parent section of the path in the source.
+     * <br>Reloads change the generation of source, and every modification renews the stamp of the root section,
+     * including modifications through child sections, so the resolved section is reusable until one of them changed.
+     * Sources that do not track stamps are resolved again for every read.
+     *
+     * @param source     The source to resolve from
+     * @param generation The current generation of the source
+     * @param stamp      The current stamp of the root section, read before resolving
+     * @return The resolved handle
+     */
+    private @NotNull PathHandle resolve(@NotNull ConfigureSource<?, ?, ?> source, long generation, long stamp) {
+        SectionPath compiled = this.sectionPath;
+        char separator = source.pathSeparator();
+        if (compiled == null || compiled.separator() != separator || !compiled.path().equals(path())) {
+            compiled = SectionPath.of(path(), separator);
+            this.sectionPath = compiled;
+        }
+        PathHandle handle = new PathHandle(compiled, generation, stamp, compiled.parentIn(source.section()));
+        this.handle = handle;
+        return handle;
+    }
+
+    /**
+     * Get the version of the data of this value.
+     * <br>The version changes after the source reloaded, or the section that contains the data modified,
+     * including overwrites made by other values or directly through the source,
+     * and stays the same while neither of them changed.
+     * <br>For sections that do not track their stamps, only the generation of source is used,
+     * which changes after every modification made through the source.
+     * <br>The version also changes after the adapter registry changed, so values will be parsed again by new adapters.
+     *
+     * @return The current data version
+     * @see ConfigureSection#stamp()
+     * @see ConfigureSource#generation()
+     */
+    @ApiStatus.Internal
+    protected long dataVersion() {
+        return dataVersion(holder().adapters().version());
+    }
+
+    /**
+     * Get the version of the data of this value, for the specified version of adapter registry.
+     *
+     * @param adapters The version of adapter registry that the value will be parsed by
+     * @return The current data version
+     * @see #dataVersion()
+     */
+    @ApiStatus.Internal
+    protected long dataVersion(long adapters) {
+        ConfigureSource<?, ?, ?> source = config();
+        long generation = source.generation();
+        ConfigureSection tracked = trackedSection(source, handle(source, generation));
+        long stamp = tracked.stamp();
+        while (true) {
+            DataVersion current = this.dataVersion.get();
+            if (current != null && current.matches(generation, tracked, stamp, adapters)) return current.version;
+
+            DataVersion next = new DataVersion(generation, tracked, stamp, adapters, VERSIONS.incrementAndGet());
+            if (this.dataVersion.compareAndSet(current, next)) return next.version;
+        }
+    }
+
+    /**
+     * Keep the data version of this value across a reload, if its data was not changed by the reload.
+     * <br>The version is kept only if it was the latest version of the previous generation,
+     * and the section that contains the data was not modified since then.
+     *
+     * @param version   The data version to keep
+     * @param from      The generation before reload
+     * @param to        The generation after reload
+     * @param unchanged Check if the data was not changed by the reload
+     * @return Whether the version was kept
+     */
+    @ApiStatus.Internal
+    protected boolean keepDataVersion(long version, long from, long to, @NotNull BooleanSupplier unchanged) {
+        DataVersion previous = this.dataVersion.get();
+        if (previous == null || previous.version != version || previous.generation != from) return false;
+        if (previous.section.stamp() != previous.stamp) return false; // Modified after the version assigned.
+
+        ConfigureSource<?, ?, ?> source = config();
+        if (source.generation() != to) return false;
+
+        // Read the stamp before comparing, so modifications made while comparing will change the version.
+        ConfigureSection tracked = trackedSection(source, handle(source, to));
+        DataVersion next = new DataVersion(to, tracked, tracked.stamp(), previous.adapters, version);
+        return unchanged.getAsBoolean() && this.dataVersion.compareAndSet(previous, next);
+    }
+
+    private static @NotNull ConfigureSection trackedSection(@NotNull ConfigureSource<?, ?, ?> source,
+                                                            @NotNull PathHandle handle) {
+        // Creating the missing parent will modify the root section.
+        return handle.parent == null ? source.section() : handle.parent;
     }
 
     @ApiStatus.Internal
@@ -157,6 +297,49 @@ public class ValueManifest<TYPE, UNIT> {
         else holder.throwing(path, throwable);
     }
 
+    private static final class PathHandle {
+
+        private final @NotNull SectionPath path;
+        private final long generation;
+        private final long stamp;
+        private final @Nullable ConfigureSection parent;
+
+        private PathHandle(@NotNull SectionPath path, long generation, long stamp, @Nullable ConfigureSection parent) {
+            this.path = path;
+            this.generation = generation;
+            this.stamp = stamp;
+            this.parent = parent;
+        }
+
+        private boolean validFor(long generation, long stamp) {
+            return this.generation == generation && this.stamp == stamp && stamp != -1;
+        }
+
+    }
+
+    private static final class DataVersion {
+
+        private final long generation;
+        private final @NotNull ConfigureSection section;
+        private final long stamp;
+        private final long adapters;
+        private final long version;
+
+        private DataVersion(long generation, @NotNull ConfigureSection section, long stamp, long adapters, long version) {
+            this.generation = generation;
+            this.section = section;
+            this.stamp = stamp;
+            this.adapters = adapters;
+            this.version = version;
+        }
+
+        private boolean matches(long generation, @NotNull ConfigureSection section, long stamp, long adapters) {
+            return this.generation == generation && this.section == section
+                && this.stamp == stamp && this.adapters == adapters;
+        }
+
+    }
+
     private static final @NotNull BiConsumer<@NotNull ConfigurationHolder<?>, @NotNull String> EMPTY_INITIALIZER = (provider, valuePath) -> {
     };
 
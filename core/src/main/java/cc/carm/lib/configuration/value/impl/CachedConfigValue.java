@@ -9,33 +9,216 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
 public abstract class CachedConfigValue<T, U> extends ConfigValue<T, U> {
 
-    protected @Nullable T cachedValue;
-    protected long parsedTime = -1;
+    /**
+     * The current cache snapshot, value and its version are always published together,
+     * so readers will never see a new version with an old value.
+     * <br>Note: This replaces the protected {@code cachedValue} and {@code parsedTime} fields of earlier versions,
+     * subclasses should read by {@link #getCachedValue()} or {@link #snapshot()},
+     * and write by {@link #updateCache(Object, long)} instead.
+     */
+    protected final @NotNull AtomicReference<Snapshot<T>> cache = new AtomicReference<>(Snapshot.empty());
+
+    /**
+     * Lock used to make sure that only one thread parses the data for the same version.
+     * Readers of a valid snapshot never touch this lock.
+     */
+    protected final @NotNull Object parseLock = new Object();
+
+    /**
+     * Parsers and serializers resolved from the registry, bound to the registry version.
+     */
+    private final @NotNull AtomicReference<Bindings> bindings = new AtomicReference<>(Bindings.NONE);
 
     protected CachedConfigValue(@NotNull ValueManifest<T, U> manifest) {
         super(manifest);
     }
 
+    /**
+     * Resolve and bind the parsers and serializers of the adapters used by this value,
+     * subclasses should bind their adapters after calling this method.
+     * <br>Bound again automatically when the registry changed.
+     *
+     * @see #parserFor(ValueAdapter)
+     * @see #serializerFor(ValueAdapter)
+     */
+    @Override
+    public void bindAdapters() {
+        this.bindings.set(new Bindings(holder().adapters().version(), new AdapterBinding<?>[0]));
+    }
+
+    /**
+     * @return Current version of the data of this value, cached values are valid only for the same version.
+     * @see #dataVersion()
+     */
+    protected long sourceVersion() {
+        return dataVersion(registryVersion());
+    }
+
+    /**
+     * @return Current version of the adapter registry, adapters will be bound again if the registry changed.
+     */
+    private long registryVersion() {
+        long version = holder().adapters().version();
+        if (this.bindings.get().version != version) bindAdapters();
+        return version;
+    }
+
     protected T updateCache(T value) {
-        this.parsedTime = System.currentTimeMillis();
-        this.cachedValue = value;
-        return getCachedValue();
+        return updateCache(value, sourceVersion());
+    }
+
+    /**
+     * Publish the value as the cached value of the specified source version.
+     *
+     * @param value   The value to cache
+     * @param version The source version that the value parsed from
+     * @return the cached value
+     */
+    protected T updateCache(T value, long version) {
+        return updateCache(value, version, null);
+    }
+
+    /**
+     * Publish the value as the cached value of the specified source version,
+     * with the error occurred while parsing a part of it, like an invalid element of a collection.
+     * <br>The error should have been reported already.
+     *
+     * @param value   The value to cache
+     * @param version The source version that the value parsed from
+     * @param error   The error occurred while parsing, or null if parsed successfully
+     * @return the cached value
+     */
+    protected T updateCache(T value, long version, @Nullable Throwable error) {
+        this.cache.set(new Snapshot<>(value, version, error));
+        return value;
+    }
+
+    /**
+     * Write the data of the value, and then update the cache with the value.
+     * <br>The cache is updated after the data written, so that it follows the data version changed by the writing.
+     * If the writer failed, the error will be reported and the cache is kept,
+     * and if the value was written partially, the written data will be parsed again by the next read.
+     *
+     * @param value  The value to cache
+     * @param writer The writer to write the data of the value
+     */
+    protected void setAndCache(@Nullable T value, @NotNull Writer writer) {
+        synchronized (this.parseLock) {
+            registryVersion(); // Serialize by the adapters of current registry.
+            try {
+                if (writer.write()) updateCache(value);
+            } catch (Exception e) {
+                throwing(e);
+            }
+        }
+    }
+
+    /**
+     * Cache the absence of the value for the specified source version,
+     * following reads will return the default value without walking the source again.
+     *
+     * @param version The source version that the value is absent in
+     * @return the default value
+     */
+    protected @Nullable T cacheAbsent(long version) {
+        this.cache.set(new Snapshot<>(null, version));
+        return defaults();
+    }
+
+    /**
+     * Cache the failure of parsing for the specified source version,
+     * the error will only be reported once for each version, and
+     * following reads will return the default value without parsing again.
+     *
+     * @param version The source version that the value failed to parse from
+     * @param error   The error occurred while parsing or validating
+     * @return the default value
+     */
+    protected @Nullable T cacheFailed(long version, @NotNull Throwable error) {
+        this.cache.set(new Snapshot<>(null, version, error));
+        throwing(error);
+        return defaults();
     }
 
     public @Nullable T getCachedValue() {
-        return cachedValue;
+        return this.cache.get().value();
+    }
+
+    /**
+     * @return The current cache snapshot, may be expired.
+     */
+    public @NotNull Snapshot<T> snapshot() {
+        return this.cache.get();
+    }
+
+    /**
+     * Keep the cached snapshot valid after the source reloaded,
+     * used when the source changed but the data of this value was not affected.
+     *
+     * @param from      The generation of source before reload
+     * @param to        The generation of source after reload
+     * @param unchanged Check if the data of this value was not changed by the reload
+     * @return Whether the snapshot is still valid
+     */
+    public boolean revalidate(long from, long to, @NotNull BooleanSupplier unchanged) {
+        Snapshot<T> snapshot = this.cache.get();
+        if (snapshot == Snapshot.empty()) return false;
+        return keepDataVersion(snapshot.version(), from, to, unchanged);
     }
 
     public boolean cacheExpired() {
-        return this.parsedTime <= 0 || config().isExpired(this.parsedTime);
+        return !this.cache.get().validFor(sourceVersion());
+    }
+
+    /**
+     * Get the cached value if it is still valid, otherwise load it by the loader.
+     * <br>The loader will run at most once for the same source version at the same time,
+     * other threads will wait for it and then read the published value.
+     *
+     * @param loader The loader to parse the value, which receives the version it should be cached for.
+     * @return The cached value (or default value if it is null), or the value returned by the loader.
+     */
+    protected T cachedOrLoad(@NotNull Loader<T> loader) {
+        return cachedOrLoad(loader, () -> null);
+    }
+
+    /**
+     * Get the cached value if it is still valid, otherwise load it by the loader.
+     * <br>The loader will run at most once for the same source version at the same time,
+     * other threads will wait for it and then read the published value.
+     *
+     * @param loader     The loader to parse the value, which receives the version it should be cached for.
+     * @param emptyValue The supplier of value to return if the cached value and the default value are null
+     * @return The cached value (or default value if it is null), or the value returned by the loader.
+     */
+    protected T cachedOrLoad(@NotNull Loader<T> loader, @NotNull Supplier<T> emptyValue) {
+        Snapshot<T> snapshot = this.cache.get();
+        if (snapshot.validFor(sourceVersion())) return cachedOrDefault(snapshot.value(), emptyValue);
+
+        synchronized (this.parseLock) {
+            // Check again, the value may be loaded by another thread while we were waiting.
+            snapshot = this.cache.get();
+            long version = sourceVersion();
+            if (snapshot.validFor(version)) return cachedOrDefault(snapshot.value(), emptyValue);
+            return loader.load(version);
+        }
     }
 
     protected final T getDefaultFirst(@Nullable T value) {
         return updateCache(this.defaults() == null ? value : this.defaults());
     }
 
+    protected final T getDefaultFirst(@Nullable T value, long version) {
+        return updateCache(this.defaults() == null ? value : this.defaults(), version);
+    }
+
     /**
      * Get the cached value or the default value if the cached value is null
      *
@@ -53,9 +236,52 @@ public abstract class CachedConfigValue<T, U> extends ConfigValue<T, U> {
      */
     @Contract("!null->!null")
     protected T getCachedOrDefault(@Nullable T emptyValue) {
-        if (getCachedValue() != null) return getCachedValue();
-        else if (defaults() != null) return defaults();
-        else return emptyValue;
+        return cachedOrDefault(getCachedValue(), () -> emptyValue);
+    }
+
+    private T cachedOrDefault(@Nullable T cached, @NotNull Supplier<T> emptyValue) {
+        if (cached != null) return cached;
+        T defaults = defaults();
+        return defaults != null ? defaults : emptyValue.get();
+    }
+
+    /**
+     * Build the immutable view of a value, which is kept in the cache snapshot of the value.
+     * <br>Called with {@link #parseLock} held by the first {@link #sharedView()} of each snapshot,
+     * so writes never pay for views that are not read,
+     * and the view never reflects modifications made to the value afterwards.
+     *
+     * @param value The cached value, or the default value
+     * @return The immutable view of the value, or null if this value has no view.
+     */
+    protected @Nullable Object viewOf(@NotNull T value) {
+        return null;
+    }
+
+    /**
+     * Get the immutable view of current value, which is safe to be shared between threads.
+     * <br>The view is built once for each cache snapshot, readers of an up-to-date snapshot only read the view kept in it.
+     *
+     * @param <R> The type of the view
+     * @return The shared immutable view, or a new view if the value is neither cached nor defaulted.
+     * @see #viewOf(Object)
+     */
+    @SuppressWarnings("unchecked")
+    protected <R> R sharedView() {
+        T value = get(); // Make sure the cache is up-to-date.
+        Snapshot<T> snapshot = this.cache.get();
+        boolean cached = snapshot.value == value || (snapshot.value == null && value == defaults());
+        Object view = snapshot.view;
+        if (cached && view != null) return (R) view;
+        if (value == null) return null;
+
+        synchronized (this.parseLock) { // Values are only modified in place with the lock held.
+            if (cached && snapshot.view != null) return (R) snapshot.view;
+            view = viewOf(value);
+            // Kept only if the snapshot is still current, otherwise the value may be modified after it.
+            if (cached && this.cache.get() == snapshot) snapshot.view = view;
+            return (R) view;
+        }
     }
 
     /**
@@ -65,9 +291,7 @@ public abstract class CachedConfigValue<T, U> extends ConfigValue<T, U> {
      */
     protected <O> @Nullable ValueParser<O> parserFor(@NotNull ValueAdapter<O> adapter) {
         if (adapter.parser() != null) return adapter.parser();
-        ValueAdapter<O> registered = holder().adapters().adapterOf(adapter.type());
-        if (registered == null) return null;
-        return registered.parser();
+        return bindingOf(adapter).parser;
     }
 
     /**
@@ -77,9 +301,178 @@ public abstract class CachedConfigValue<T, U> extends ConfigValue<T, U> {
      */
     protected <O> @Nullable ValueSerializer<O> serializerFor(@NotNull ValueAdapter<O> adapter) {
         if (adapter.serializer() != null) return adapter.serializer();
-        ValueAdapter<O> registered = holder().adapters().adapterOf(adapter.type());
-        if (registered == null) return null;
-        return registered.serializer();
+        return bindingOf(adapter).serializer;
+    }
+
+    /**
+     * Get the registered parser and serializer for the adapter,
+     * which are bound by {@link #bindAdapters()}, or resolved at the first time if not bound yet.
+     *
+     * @param adapter Value adapter
+     * @param <O>     Base object type
+     * @return The binding of the adapter
+     */
+    @SuppressWarnings("unchecked")
+    private <O> @NotNull AdapterBinding<O> bindingOf(@NotNull ValueAdapter<O> adapter) {
+        AdapterBinding<O> binding = null;
+        long resolved = 0;
+        while (true) {
+            Bindings current = this.bindings.get();
+            for (AdapterBinding<?> bound : current.entries) {
+                if (bound.adapter == adapter) return (AdapterBinding<O>) bound;
+            }
+
+            if (binding == null || resolved != current.version) { // Resolve again if bound again meanwhile.
+                resolved = current.version;
+                ValueAdapter<O> registered = holder().adapters().adapterOf(adapter.type());
+                binding = new AdapterBinding<>(
+                    adapter,
+                    registered == null ? null : registered.parser(),
+                    registered == null ? null : registered.serializer()
+                );
+            }
+            // Retry if bound by others meanwhile, so that no binding will be lost.
+            if (this.bindings.compareAndSet(current, current.with(binding))) return binding;
+        }
+    }
+
+    private static final class Bindings {
+
+        private static final Bindings NONE = new Bindings(Long.MIN_VALUE, new AdapterBinding<?>[0]);
+
+        private final long version;
+        private final @NotNull AdapterBinding<?>[] entries;
+
+        private Bindings(long version, @NotNull AdapterBinding<?>[] entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+
+        private @NotNull Bindings with(@NotNull AdapterBinding<?> binding) {
+            AdapterBinding<?>[] updated = Arrays.copyOf(this.entries, this.entries.length + 1);
+            updated[this.entries.length] = binding;
+            return new Bindings(this.version, updated);
+        }
+
+    }
+
+    private static final class AdapterBinding<O> {
+
+        private final @NotNull ValueAdapter<O> adapter;
+        private final @Nullable ValueParser<O> parser;
+        private final @Nullable ValueSerializer<O> serializer;
+
+        private AdapterBinding(@NotNull ValueAdapter<O> adapter,
+                               @Nullable ValueParser<O> parser, @Nullable ValueSerializer<O> serializer) {
+            this.adapter = adapter;
+            this.parser = parser;
+            this.serializer = serializer;
+        }
+
+    }
+
+    /**
+     * Writer of the data of a value.
+     */
+    @FunctionalInterface
+    protected interface Writer {
+
+        /**
+         * Write the data of the value.
+         *
+         * @return Whether the value was written entirely, and can be cached as is.
+         * @throws Exception If the value was rejected and nothing written.
+         */
+        boolean write() throws Exception;
+
+    }
+
+    /**
+     * Loader of the cached value.
+     *
+     * @param <T> Value type
+     */
+    @FunctionalInterface
+    protected interface Loader<T> {
+
+        /**
+         * Load the value and publish it by {@link CachedConfigValue#updateCache(Object, long)}.
+         *
+         * @param version The source version that the value should be cached for.
+         * @return The loaded value
+         */
+        T load(long version);
+
+    }
+
+    /**
+     * Immutable snapshot of a cached value and the source version it was parsed from.
+     * <br>A snapshot without value represents the value is absent in the source,
+     * or failed to parse if {@link #error()} present.
+     * A snapshot with both value and error represents the value was parsed partially,
+     * like a collection that some of its elements are invalid and skipped.
+     *
+     * @param <T> Value type
+     */
+    public static final class Snapshot<T> {
+
+        private static final Snapshot<?> EMPTY = new Snapshot<>(null, Long.MIN_VALUE);
+
+        @SuppressWarnings("unchecked")
+        public static <T> @NotNull Snapshot<T> empty() {
+            return (Snapshot<T>) EMPTY;
+        }
+
+        private final @Nullable T value;
+        private final long version;
+        private final @Nullable Throwable error;
+        /**
+         * The immutable view of the value, built lazily by {@link CachedConfigValue#sharedView()}.
+         */
+        private volatile @Nullable Object view;
+
+        public Snapshot(@Nullable T value, long version) {
+            this(value, version, null);
+        }
+
+        public Snapshot(@Nullable T value, long version, @Nullable Throwable error) {
+            this(value, version, error, null);
+        }
+
+        public Snapshot(@Nullable T value, long version, @Nullable Throwable error, @Nullable Object view) {
+            this.value = value;
+            this.version = version;
+            this.error = error;
+            this.view = view;
+        }
+
+        public @Nullable T value() {
+            return value;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /**
+         * @return The error occurred while parsing the value, null if parsed successfully.
+         */
+        public @Nullable Throwable error() {
+            return error;
+        }
+
+        public boolean isPresent() {
+            return value != null;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+
+        public boolean validFor(long sourceVersion) {
+            return this != EMPTY && this.version == sourceVersion;
+        }
+
     }
 
 }
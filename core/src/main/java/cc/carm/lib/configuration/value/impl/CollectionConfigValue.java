@@ -7,10 +7,12 @@ import cc.carm.lib.configuration.adapter.ValueType;
 import cc.carm.lib.configuration.value.ValueManifest;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -28,6 +30,13 @@ public abstract class CollectionConfigValue<
     protected final @NotNull Supplier<? extends C> constructor;
     protected final @NotNull ValueAdapter<V> paramAdapter;
 
+    /**
+     * The cached collection and the data list created by this value, guarded by {@link #parseLock}.
+     * <br>Single element changes modify them in place, others that may be shared are copied once before changed.
+     */
+    private @Nullable C ownedCollection;
+    private @Nullable List<Object> ownedData;
+
     public CollectionConfigValue(@NotNull ValueManifest<C, V> manifest,
                                  @NotNull Supplier<? extends C> constructor,
                                  @NotNull ValueAdapter<V> paramAdapter) {
@@ -61,22 +70,42 @@ public abstract class CollectionConfigValue<
         return serializerFor(adapter());
     }
 
+    @Override
+    public void bindAdapters() {
+        super.bindAdapters();
+        parser();
+        serializer();
+    }
+
     private @NotNull C createCollection() {
         return constructor.get();
     }
 
     @Override
     public @NotNull C get() {
-        if (!cacheExpired()) return getCachedOrDefault(createCollection());
+        return cachedOrLoad(this::load, this::createCollection);
+    }
+
+    /**
+     * Parse the collection from the source data, and cache it for the specified version.
+     * <br>Invalid elements are skipped and reported, and the failure of the whole collection is cached,
+     * so errors will be reported only once for each version.
+     *
+     * @param version The source version that the value should be cached for.
+     * @return The parsed collection
+     */
+    protected @NotNull C load(long version) {
         // Data that is outdated and needs to be parsed again.
         C set = createCollection();
+        this.ownedCollection = set;
         try {
             List<?> data = config().contains(path()) ? config().getList(path()) : null;
-            if (data == null) return getDefaultFirst(set);
+            if (data == null) return getDefaultFirst(set, version);
 
             ValueParser<V> parser = parser();
-            if (parser == null) return getDefaultFirst(set);
+            if (parser == null) return getDefaultFirst(set, version);
 
+            Exception failure = null;
             int i = 0;
             for (Object dataVal : data) {
                 if (dataVal == null) continue;
@@ -84,35 +113,149 @@ public abstract class CollectionConfigValue<
                     set.add(withValidated(parser.parse(holder(), paramType(), dataVal)));
                 } catch (Exception e) {
                     throwing(path + "[" + i + "]", e);
+                    if (failure == null) failure = e;
                 }
             }
+            return updateCache(set, version, failure);
         } catch (Exception ex) {
-            throwing(ex);
+            // Failed as a whole, prompted once and returned the default value until the data changed.
+            C defaults = cacheFailed(version, ex);
+            return defaults == null ? createCollection() : defaults;
         }
-        return updateCache(set);
     }
 
     @Override
     public void set(@Nullable C collection) {
-        updateCache(collection);
-        if (collection == null) {
-            setData(null);
-            return;
+        setAndCache(collection, () -> {
+            if (collection == null) {
+                setData(null);
+                return true;
+            }
+
+            ValueSerializer<V> serializer = serializer();
+            if (serializer == null) return true;
+
+            List<Object> data = new ArrayList<>();
+            boolean entire = true;
+            for (V val : collection) {
+                if (val == null) continue;
+                try {
+                    data.add(serializer.serialize(holder(), paramType(), withValidated(val)));
+                } catch (Exception ex) {
+                    throwing(ex);
+                    entire = false;
+                }
+            }
+            setData(data);
+            this.ownedData = data;
+            return entire;
+        });
+    }
+
+    /**
+     * Get the cached collection to be modified in place,
+     * it will be copied once if it was not created by this value, like the default value or a collection set by others.
+     * <br>Must be called with {@link #parseLock} held.
+     *
+     * @return The collection owned by this value
+     */
+    protected @NotNull C ownedCollection() {
+        C current = resolve();
+        if (current != this.ownedCollection) {
+            C copy = createCollection();
+            copy.addAll(current);
+            this.ownedCollection = current = copy;
         }
+        return current;
+    }
 
+    /**
+     * Get the data list of this value to be modified in place,
+     * it will be copied once if it was not written by this value, like the list loaded from the source.
+     * <br>Lists of concurrent sections are read-only copies, so they are copied for each change.
+     * <br>Must be called with {@link #parseLock} held.
+     *
+     * @return The data list owned by this value, or null if the data is absent or not a list,
+     * in which case the whole collection should be written by {@link #set(Collection)}.
+     */
+    protected @Nullable List<Object> ownedData() {
+        Object data = getData();
+        if (!(data instanceof List<?>)) return null;
+        if (data != this.ownedData) this.ownedData = new ArrayList<>((List<?>) data);
+        return this.ownedData;
+    }
+
+    /**
+     * Validate and serialize a single element.
+     *
+     * @param value The element
+     * @return The serialized data, or null if the element is null or no serializer available.
+     * @throws Exception If the element is invalid or cannot be serialized
+     */
+    protected @Nullable Object serializeElement(@Nullable V value) throws Exception {
+        if (value == null) return null;
         ValueSerializer<V> serializer = serializer();
-        if (serializer == null) return;
+        if (serializer == null) return null;
+        return serializer.serialize(holder(), paramType(), withValidated(value));
+    }
 
-        List<Object> data = new ArrayList<>();
-        for (V val : collection) {
-            if (val == null) continue;
+    /**
+     * Serialize the elements removed from the collection, for finding them in the data list.
+     * <br>Failures will be reported, and the whole collection should be written then.
+     *
+     * @param values The removed elements
+     * @return The serialized data of the elements, or null if any of them cannot be serialized.
+     */
+    protected @Nullable Set<Object> serializeElements(@NotNull Collection<? extends V> values) {
+        Set<Object> serialized = new HashSet<>();
+        for (V value : values) {
             try {
-                data.add(serializer.serialize(holder(), paramType(), withValidated(val)));
+                Object data = serializeElement(value);
+                if (data == null) return null;
+                serialized.add(data);
             } catch (Exception ex) {
                 throwing(ex);
+                return null;
             }
         }
-        setData(data);
+        return serialized;
+    }
+
+    /**
+     * Publish the changed collection and write the changed data list,
+     * if the data list is not available or no longer matches the collection,
+     * write the whole collection instead.
+     * <br>Must be called with {@link #parseLock} held.
+     *
+     * @param collection The changed collection, see {@link #ownedCollection()}
+     * @param data       The changed data list, see {@link #ownedData()}, null if not available
+     * @param applied    Whether the change applied to the data list
+     */
+    protected void commitDelta(@NotNull C collection, @Nullable List<Object> data, boolean applied) {
+        if (data == null || !applied || data.size() != collection.size()) {
+            set(collection);
+        } else {
+            setAndCache(collection, () -> {
+                setData(data);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Get an immutable snapshot of the collection, which is safe to be shared between threads.
+     * <br>Unlike {@link #get()} that returns the cached collection itself, the snapshot never changes,
+     * and it is shared by all readers until the value changed.
+     *
+     * @return The immutable snapshot of the collection
+     */
+    public @NotNull @Unmodifiable Collection<V> view() {
+        return sharedView();
+    }
+
+    @Override
+    protected @NotNull Object viewOf(@NotNull C value) {
+        return Collections.unmodifiableCollection(new ArrayList<>(value));
     }
 
     public @NotNull C copy() {
@@ -124,14 +267,14 @@ public abstract class CollectionConfigValue<
     public abstract @NotNull SELF self();
 
     public <T> @NotNull T handle(Function<C, T> function) {
-        C list = resolve();
+        C list = copy();
         T result = function.apply(list);
         set(list);
         return result;
     }
 
     public @NotNull SELF modify(Consumer<C> consumer) {
-        C list = resolve();
+        C list = copy();
         consumer.accept(list);
         set(list);
         return self();
@@ -175,36 +318,107 @@ public abstract class CollectionConfigValue<
         return new HashSet<>(resolve()).containsAll(c);
     }
 
+    /**
+     * Add the element to the collection,
+     * only the new element will be validated, serialized and appended to the data.
+     * <br>Invalid elements will be reported and not added.
+     *
+     * @param v element whose presence in this collection is to be ensured
+     * @return true if this collection changed
+     */
     @Override
     public boolean add(V v) {
-        handle(list -> list.add(v));
-        return true;
+        return addAll(Collections.singletonList(v));
     }
 
-
     @Override
     public boolean addAll(@NotNull Collection<? extends V> c) {
-        return handle(list -> list.addAll(c));
+        synchronized (this.parseLock) {
+            C collection = ownedCollection();
+            List<Object> data = ownedData();
+            boolean changed = false;
+            boolean applied = true;
+            for (V value : c) {
+                Object element;
+                try {
+                    element = serializeElement(value);
+                } catch (Exception ex) {
+                    throwing(ex);
+                    continue;
+                }
+                if (!collection.add(value)) continue; // Already present in sets.
+                changed = true;
+                if (element == null || data == null) applied = false;
+                else data.add(element);
+            }
+            if (changed) commitDelta(collection, data, applied);
+            return changed;
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public boolean remove(Object o) {
-        return handle(list -> list.remove(o));
+        synchronized (this.parseLock) {
+            C collection = ownedCollection();
+            if (!collection.remove(o)) return false;
+
+            List<Object> data = ownedData();
+            Set<Object> serialized = data == null ? null : serializeElements(Collections.singletonList((V) o));
+            commitDelta(collection, data, serialized != null && data.remove(serialized.iterator().next()));
+            return true;
+        }
     }
 
     @Override
     public boolean removeAll(@NotNull Collection<?> c) {
-        return handle(list -> list.removeAll(c));
+        return removeMatched(c::contains);
     }
 
     @Override
     public boolean retainAll(@NotNull Collection<?> c) {
-        return handle(list -> list.retainAll(c));
+        return removeMatched(value -> !c.contains(value));
+    }
+
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super V> filter) {
+        return removeMatched(filter);
+    }
+
+    /**
+     * Remove the matched elements from the collection,
+     * only the removed elements will be serialized and removed from the data.
+     *
+     * @param filter The filter of elements to remove
+     * @return true if this collection changed
+     */
+    protected boolean removeMatched(@NotNull Predicate<? super V> filter) {
+        synchronized (this.parseLock) {
+            C collection = ownedCollection();
+            List<V> removed = new ArrayList<>();
+            collection.removeIf(value -> filter.test(value) && removed.add(value));
+            if (removed.isEmpty()) return false;
+
+            List<Object> data = ownedData();
+            Set<Object> serialized = data == null ? null : serializeElements(removed);
+            if (serialized != null) data.removeAll(serialized);
+            commitDelta(collection, data, serialized != null);
+            return true;
+        }
     }
 
     @Override
     public void clear() {
-        modify(Collection::clear);
+        synchronized (this.parseLock) {
+            C collection = createCollection();
+            List<Object> data = new ArrayList<>();
+            setAndCache(collection, () -> {
+                setData(data);
+                return true;
+            });
+            this.ownedCollection = collection;
+            this.ownedData = data;
+        }
     }
 
 }
@@ -0,0 +1,59 @@
+package cc.carm.lib.configuration.value.impl;
+
+import cc.carm.lib.configuration.value.ValueManifest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base of primitive values, which parse the data directly
+ * without looking up adapters, and store the data as is.
+ * <br>The parsed value is boxed only once for each source generation,
+ * reading the cached value will never allocate.
+ *
+ * @param <T> The wrapper type of the primitive value
+ */
+public abstract class PrimitiveConfigValue<T> extends CachedConfigValue<T, T> {
+
+    protected PrimitiveConfigValue(@NotNull ValueManifest<T, T> manifest) {
+        super(manifest);
+    }
+
+    /**
+     * Parse the primitive value from the data.
+     *
+     * @param data The data, never null
+     * @return The parsed value
+     * @throws Exception If the data cannot be parsed
+     */
+    protected abstract @NotNull T parse(@NotNull Object data) throws Exception;
+
+    @Override
+    public @Nullable T get() {
+        return cachedOrLoad(this::load);
+    }
+
+    protected @Nullable T load(long version) {
+        try {
+            Object data = getData();
+            if (data == null) return cacheAbsent(version);
+            return updateCache(withValidated(parse(data)), version);
+        } catch (Exception e) {
+            return cacheFailed(version, e);
+        }
+    }
+
+    @Override
+    public void set(@Nullable T value) {
+        setAndCache(value, () -> {
+            setData(value == null ? null : withValidated(value));
+            return true;
+        });
+    }
+
+    @Override
+    public T getOr(T defaults) {
+        T value = get();
+        return value == null ? defaults : value;
+    }
+
+}
@@ -0,0 +1,67 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.adapter.strandard.PrimitiveAdapter;
+import cc.carm.lib.configuration.builder.value.PrimitiveValueBuilder;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.impl.PrimitiveConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Configured boolean value, read by {@link #getAsBoolean()} without boxing or optional wrapping.
+ * <br>Boolean data will be used directly, other data will be matched with
+ * {@link PrimitiveAdapter#TRUE_VALUES} and {@link PrimitiveAdapter#FALSE_VALUES}.
+ */
+public class ConfiguredBoolean extends PrimitiveConfigValue<Boolean> implements BooleanSupplier {
+
+    /**
+     * Create a new boolean value builder.
+     *
+     * @return a {@link PrimitiveValueBuilder} of boolean value.
+     */
+    public static PrimitiveValueBuilder<Boolean, ConfiguredBoolean> builder() {
+        return new PrimitiveValueBuilder<>(ValueType.BOOLEAN, ConfiguredBoolean::new);
+    }
+
+    public static ConfiguredBoolean of() {
+        return builder().build();
+    }
+
+    public static ConfiguredBoolean of(boolean defaults) {
+        return builder().defaults(defaults).build();
+    }
+
+    public ConfiguredBoolean(@NotNull ValueManifest<Boolean, Boolean> manifest) {
+        super(manifest);
+    }
+
+    /**
+     * @return The configured value, or default value if absent,
+     * or false if default value is also absent.
+     */
+    @Override
+    public boolean getAsBoolean() {
+        Boolean value = get();
+        return value != null && value;
+    }
+
+    public void set(boolean value) {
+        set((Boolean) value);
+    }
+
+    @Override
+    protected @NotNull Boolean parse(@NotNull Object data) throws Exception {
+        if (data instanceof Boolean) return (Boolean) data;
+        String value = data.toString().trim();
+        for (String trueValue : PrimitiveAdapter.TRUE_VALUES) {
+            if (trueValue.equalsIgnoreCase(value)) return true;
+        }
+        for (String falseValue : PrimitiveAdapter.FALSE_VALUES) {
+            if (falseValue.equalsIgnoreCase(value)) return false;
+        }
+        throw new IllegalArgumentException("Cannot parse boolean from " + data);
+    }
+
+}
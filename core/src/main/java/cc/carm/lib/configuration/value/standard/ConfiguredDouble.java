@@ -0,0 +1,58 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.builder.value.PrimitiveValueBuilder;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.impl.PrimitiveConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Configured double value, read by {@link #getAsDouble()} without boxing or optional wrapping.
+ * <br>Number data will be converted directly, other data will be parsed from its string form.
+ */
+public class ConfiguredDouble extends PrimitiveConfigValue<Double> implements DoubleSupplier {
+
+    /**
+     * Create a new double value builder.
+     *
+     * @return a {@link PrimitiveValueBuilder} of double value.
+     */
+    public static PrimitiveValueBuilder<Double, ConfiguredDouble> builder() {
+        return new PrimitiveValueBuilder<>(ValueType.DOUBLE, ConfiguredDouble::new);
+    }
+
+    public static ConfiguredDouble of() {
+        return builder().build();
+    }
+
+    public static ConfiguredDouble of(double defaults) {
+        return builder().defaults(defaults).build();
+    }
+
+    public ConfiguredDouble(@NotNull ValueManifest<Double, Double> manifest) {
+        super(manifest);
+    }
+
+    /**
+     * @return The configured value, or default value if absent,
+     * or 0D if default value is also absent.
+     */
+    @Override
+    public double getAsDouble() {
+        Double value = get();
+        return value == null ? 0D : value;
+    }
+
+    public void set(double value) {
+        set((Double) value);
+    }
+
+    @Override
+    protected @NotNull Double parse(@NotNull Object data) throws Exception {
+        if (data instanceof Number) return ((Number) data).doubleValue();
+        return Double.parseDouble(data.toString().trim());
+    }
+
+}
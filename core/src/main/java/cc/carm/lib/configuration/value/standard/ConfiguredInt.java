@@ -0,0 +1,58 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.builder.value.PrimitiveValueBuilder;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.impl.PrimitiveConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Configured int value, read by {@link #getAsInt()} without boxing or optional wrapping.
+ * <br>Number data will be converted directly, other data will be parsed from its string form.
+ */
+public class ConfiguredInt extends PrimitiveConfigValue<Integer> implements IntSupplier {
+
+    /**
+     * Create a new int value builder.
+     *
+     * @return a {@link PrimitiveValueBuilder} of int value.
+     */
+    public static PrimitiveValueBuilder<Integer, ConfiguredInt> builder() {
+        return new PrimitiveValueBuilder<>(ValueType.INTEGER, ConfiguredInt::new);
+    }
+
+    public static ConfiguredInt of() {
+        return builder().build();
+    }
+
+    public static ConfiguredInt of(int defaults) {
+        return builder().defaults(defaults).build();
+    }
+
+    public ConfiguredInt(@NotNull ValueManifest<Integer, Integer> manifest) {
+        super(manifest);
+    }
+
+    /**
+     * @return The configured value, or default value if absent,
+     * or 0 if default value is also absent.
+     */
+    @Override
+    public int getAsInt() {
+        Integer value = get();
+        return value == null ? 0 : value;
+    }
+
+    public void set(int value) {
+        set((Integer) value);
+    }
+
+    @Override
+    protected @NotNull Integer parse(@NotNull Object data) throws Exception {
+        if (data instanceof Number) return ((Number) data).intValue();
+        return Integer.parseInt(data.toString().trim());
+    }
+
+}
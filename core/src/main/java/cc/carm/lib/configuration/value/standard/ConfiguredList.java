@@ -7,9 +7,12 @@ import cc.carm.lib.configuration.builder.list.ConfigListCreator;
 import cc.carm.lib.configuration.value.ValueManifest;
 import cc.carm.lib.configuration.value.impl.CollectionConfigValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class ConfiguredList<V> extends CollectionConfigValue<V, List<V>, ConfiguredList<V>> implements List<V> {
 
@@ -49,32 +52,112 @@ public class ConfiguredList<V> extends CollectionConfigValue<V, List<V>, Configu
         return resolve().get(index);
     }
 
+    @Override
+    public @NotNull @Unmodifiable List<V> view() {
+        return sharedView();
+    }
+
+    @Override
+    protected @NotNull Object viewOf(@NotNull List<V> value) {
+        return Collections.unmodifiableList(new ArrayList<>(value));
+    }
+
     @Override
     public @NotNull ConfiguredList<V> self() {
         return this;
     }
 
+    /**
+     * Replace the element at the specified position,
+     * only the new element will be validated, serialized and written to the data.
+     * <br>Invalid elements will be reported and not written.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position,
+     * or the current element if the new element is invalid
+     */
     @Override
     public V set(int index, V element) {
-        return handle(list -> list.set(index, element));
+        synchronized (this.parseLock) {
+            List<V> list = ownedCollection();
+            Object serialized;
+            try {
+                serialized = serializeElement(element);
+            } catch (Exception ex) {
+                throwing(ex);
+                return list.get(index);
+            }
+            List<Object> data = alignedData(list);
+            V previous = list.set(index, element);
+            if (data != null && serialized != null) data.set(index, serialized);
+            commitDelta(list, data, serialized != null);
+            return previous;
+        }
     }
 
-
     @Override
     public void add(int index, V element) {
-        modify(list -> list.add(index, element));
+        addAll(index, Collections.singletonList(element));
     }
 
     @Override
     public boolean addAll(int index, @NotNull Collection<? extends V> c) {
-        return handle(list -> list.addAll(index, c));
+        synchronized (this.parseLock) {
+            List<V> values = new ArrayList<>(c.size());
+            List<Object> serialized = new ArrayList<>(c.size());
+            boolean applied = true;
+            for (V value : c) {
+                try {
+                    Object element = serializeElement(value);
+                    values.add(value);
+                    if (element == null) applied = false;
+                    else serialized.add(element);
+                } catch (Exception ex) {
+                    throwing(ex);
+                }
+            }
+
+            List<V> list = ownedCollection();
+            List<Object> data = alignedData(list);
+            if (!list.addAll(index, values)) return false;
+            if (data != null) data.addAll(index, serialized);
+            commitDelta(list, data, applied);
+            return true;
+        }
     }
 
     @Override
     public V remove(int index) {
-        return handle(list -> list.remove(index));
+        synchronized (this.parseLock) {
+            List<V> list = ownedCollection();
+            List<Object> data = alignedData(list);
+            V removed = list.remove(index);
+            if (data != null) data.remove(index);
+            commitDelta(list, data, true);
+            return removed;
+        }
     }
 
+    @Override
+    public void replaceAll(@NotNull UnaryOperator<V> operator) {
+        modify(list -> list.replaceAll(operator));
+    }
+
+    @Override
+    public void sort(@Nullable Comparator<? super V> c) {
+        modify(list -> list.sort(c));
+    }
+
+    /**
+     * @param list The cached list owned by this value
+     * @return The data list owned by this value if its elements are at the same indexes of the cached list,
+     * otherwise null.
+     */
+    private @Nullable List<Object> alignedData(@NotNull List<V> list) {
+        List<Object> data = ownedData();
+        return data != null && data.size() == list.size() ? data : null;
+    }
 
     @Override
     public int indexOf(Object o) {
@@ -0,0 +1,58 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.builder.value.PrimitiveValueBuilder;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.impl.PrimitiveConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Configured long value, read by {@link #getAsLong()} without boxing or optional wrapping.
+ * <br>Number data will be converted directly, other data will be parsed from its string form.
+ */
+public class ConfiguredLong extends PrimitiveConfigValue<Long> implements LongSupplier {
+
+    /**
+     * Create a new long value builder.
+     *
+     * @return a {@link PrimitiveValueBuilder} of long value.
+     */
+    public static PrimitiveValueBuilder<Long, ConfiguredLong> builder() {
+        return new PrimitiveValueBuilder<>(ValueType.LONG, ConfiguredLong::new);
+    }
+
+    public static ConfiguredLong of() {
+        return builder().build();
+    }
+
+    public static ConfiguredLong of(long defaults) {
+        return builder().defaults(defaults).build();
+    }
+
+    public ConfiguredLong(@NotNull ValueManifest<Long, Long> manifest) {
+        super(manifest);
+    }
+
+    /**
+     * @return The configured value, or default value if absent,
+     * or 0L if default value is also absent.
+     */
+    @Override
+    public long getAsLong() {
+        Long value = get();
+        return value == null ? 0L : value;
+    }
+
+    public void set(long value) {
+        set((Long) value);
+    }
+
+    @Override
+    protected @NotNull Long parse(@NotNull Object data) throws Exception {
+        if (data instanceof Number) return ((Number) data).longValue();
+        return Long.parseLong(data.toString().trim());
+    }
+
+}
@@ -78,28 +78,49 @@ public class ConfiguredMap<K, V> extends CachedConfigValue<Map<K, V>, V> impleme
         return valueAdapter().type();
     }
 
+    @Override
+    public void bindAdapters() {
+        super.bindAdapters();
+        parserFor(keyAdapter);
+        parserFor(valueAdapter);
+        serializerFor(keyAdapter);
+        serializerFor(valueAdapter);
+    }
+
     private Map<K, V> createMap() {
         return this.constructor.get();
     }
 
     @Override
     public @NotNull Map<K, V> get() {
-        if (!cacheExpired()) return getCachedOrDefault(createMap());
+        return cachedOrLoad(this::load, this::createMap);
+    }
+
+    /**
+     * Parse the map from the source data, and cache it for the specified version.
+     * <br>Invalid entries are skipped and reported, and the failure of the whole map is cached,
+     * so errors will be reported only once for each version.
+     *
+     * @param version The source version that the value should be cached for.
+     * @return The parsed map
+     */
+    protected @NotNull Map<K, V> load(long version) {
         // If the value is expired, we need to update it
         Map<K, V> map = createMap();
 
         try {
             ConfigureSection section = config().getSection(path());
-            if (section == null) return getDefaultFirst(map);
+            if (section == null) return getDefaultFirst(map, version);
 
             Set<String> keys = section.getKeys(false);
-            if (keys.isEmpty()) return getDefaultFirst(map);
+            if (keys.isEmpty()) return getDefaultFirst(map, version);
 
             ValueParser<K> keyParser = parserFor(keyAdapter);
-            if (keyParser == null) return getDefaultFirst(map);
+            if (keyParser == null) return getDefaultFirst(map, version);
             ValueParser<V> valueParser = parserFor(valueAdapter);
-            if (valueParser == null) return getDefaultFirst(map);
+            if (valueParser == null) return getDefaultFirst(map, version);
 
+            Exception failure = null;
             for (String dataKey : keys) {
                 Object dataVal = section.get(dataKey);
                 if (dataVal == null) continue;
@@ -109,13 +130,15 @@ public class ConfiguredMap<K, V> extends CachedConfigValue<Map<K, V>, V> impleme
                     map.put(key, withValidated(value));
                 } catch (Exception e) {
                     throwing(path + "." + dataKey, e);
+                    if (failure == null) failure = e;
                 }
             }
+            return updateCache(map, version, failure);
         } catch (Exception ex) {
-            throwing(ex);
+            // Failed as a whole, prompted once and returned the default value until the data changed.
+            Map<K, V> defaults = cacheFailed(version, ex);
+            return defaults == null ? createMap() : defaults;
         }
-
-        return updateCache(map);
     }
 
     @Override
@@ -129,20 +152,19 @@ public class ConfiguredMap<K, V> extends CachedConfigValue<Map<K, V>, V> impleme
 
     @Override
     public void set(@Nullable Map<K, V> value) {
-        updateCache(value);
-        if (value == null) {
-            setData(null);
-            return;
-        }
+        setAndCache(value, () -> {
+            if (value == null) {
+                setData(null);
+                return true;
+            }
 
-        try {
             ValueSerializer<K> keySerializer = serializerFor(keyAdapter);
-            if (keySerializer == null) return;
+            if (keySerializer == null) return true;
             ValueSerializer<V> valueSerializer = serializerFor(valueAdapter);
-            if (valueSerializer == null) return;
+            if (valueSerializer == null) return true;
 
             Map<Object, Object> data = new LinkedHashMap<>();
-
+            boolean entire = true;
             for (Map.Entry<K, V> entry : value.entrySet()) {
                 try {
                     data.put(
@@ -151,23 +173,48 @@ public class ConfiguredMap<K, V> extends CachedConfigValue<Map<K, V>, V> impleme
                     );
                 } catch (Exception e) {
                     throwing(path + "." + entry.getKey(), e);
+                    entire = false;
                 }
             }
             setData(data);
-        } catch (Exception ex) {
-            throwing(ex);
-        }
+            return entire;
+        });
+    }
+
+    /**
+     * Get an immutable snapshot of the map, which is safe to be shared between threads.
+     * <br>Unlike {@link #get()} that returns the cached map itself, the snapshot never changes,
+     * and it is shared by all readers until the value changed.
+     *
+     * @return The immutable snapshot of the map
+     */
+    public @NotNull @Unmodifiable Map<K, V> view() {
+        return sharedView();
+    }
+
+    @Override
+    protected @NotNull Object viewOf(@NotNull Map<K, V> value) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(value));
+    }
+
+    /**
+     * @return A modifiable copy of the map, the cached map is never modified in place.
+     */
+    public @NotNull Map<K, V> copy() {
+        Map<K, V> m = createMap();
+        m.putAll(get());
+        return m;
     }
 
     public <T> @NotNull T handle(Function<Map<K, V>, T> function) {
-        Map<K, V> m = get();
+        Map<K, V> m = copy();
         T result = function.apply(m);
         set(m);
         return result;
     }
 
     public @NotNull ConfiguredMap<K, V> modify(Consumer<Map<K, V>> consumer) {
-        Map<K, V> m = get();
+        Map<K, V> m = copy();
         consumer.accept(m);
         set(m);
         return this;
@@ -132,27 +132,42 @@ public class ConfiguredValue<V> extends CachedConfigValue<V, V> {
         return serializerFor(adapter());
     }
 
+    @Override
+    public void bindAdapters() {
+        super.bindAdapters();
+        parser();
+        serializer();
+    }
+
     @Override
     public V get() {
-        if (!cacheExpired()) return getCachedOrDefault();
-        // Data that is outdated and needs to be parsed again.
+        return cachedOrLoad(this::load);
+    }
 
+    /**
+     * Parse the value from the source data, and cache it for the specified version.
+     * <br>Absent or invalid data will also be cached until the source changes,
+     * so errors will be reported only once for each version.
+     *
+     * @param version The source version that the value should be cached for.
+     * @return The parsed value, or default value if the data is absent or invalid.
+     */
+    protected V load(long version) {
+        // Data that is outdated and needs to be parsed again.
         try {
             Object data = getData();
-            if (data == null) return defaults();
+            if (data == null) return cacheAbsent(version);
 
             ValueParser<V> parser = parser();
-            if (parser == null) return defaults(); // No parser, return default value.
+            if (parser == null) return cacheAbsent(version); // No parser, return default value.
 
             // If there are no errors, update the cache and return.
             V parsed = parser.parse(holder(), type(), data);
-            return updateCache(withValidated(parsed));
+            return updateCache(withValidated(parsed), version);
         } catch (Exception e) {
-            // There was a validate or parsing error, prompted and returned the default value.
-            throwing(e);
-            return defaults();
+            // There was a validate or parsing error, prompted once and returned the default value.
+            return cacheFailed(version, e);
         }
-
     }
 
     /**
@@ -163,21 +178,18 @@ public class ConfiguredValue<V> extends CachedConfigValue<V, V> {
      */
     @Override
     public void set(@Nullable V value) {
-        updateCache(value); // Update cache
-        if (value == null) {
-            setData(null);
-            return;
-        }
+        setAndCache(value, () -> {
+            if (value == null) {
+                setData(null);
+                return true;
+            }
 
-        try {
             ValueSerializer<V> serializer = serializer();
-            if (serializer == null) return; // No serializer, do nothing.
+            if (serializer == null) return true; // No serializer, do nothing.
 
             setData(serializer.serialize(holder(), type(), withValidated(value)));
-        } catch (Exception e) {
-            throwing(e);
-        }
-
+            return true;
+        });
     }
 
 }
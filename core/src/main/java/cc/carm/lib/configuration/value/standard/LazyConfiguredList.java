@@ -0,0 +1,186 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueAdapter;
+import cc.carm.lib.configuration.adapter.ValueParser;
+import cc.carm.lib.configuration.value.ValueManifest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ConfiguredList} that parses elements on demand, for lists with a large number of elements.
+ * <br>{@link #get(int)}, {@link #iterator()} and {@link #stream()} read the source list directly,
+ * elements are parsed in order only as far as requested, and memoized until the source list changes.
+ * The whole list will only be materialized by {@link #get()} and the methods that modify the list.
+ * <p>Null or invalid elements are skipped like the materialized list does,
+ * so all methods share the same indexes, and {@link #size()} has to parse the whole source list once.
+ *
+ * @param <V> Value type
+ */
+public class LazyConfiguredList<V> extends ConfiguredList<V> {
+
+    /**
+     * Marker of elements that are null or failed to parse.
+     */
+    private static final Object ABSENT = new Object();
+
+    private volatile @Nullable Elements elements;
+
+    public LazyConfiguredList(@NotNull ValueManifest<List<V>, V> manifest,
+                              @NotNull Supplier<? extends List<V>> constructor,
+                              @NotNull ValueAdapter<V> paramAdapter) {
+        super(manifest, constructor, paramAdapter);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int index) {
+        Elements elements = elements();
+        if (elements == null) return super.get(index); // Defaults or empty list
+        if (index < 0 || !parseTo(elements, index)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return (V) elements.values[index];
+    }
+
+    /**
+     * @return The number of valid elements, the whole source list will be parsed once.
+     */
+    @Override
+    public int size() {
+        Elements elements = elements();
+        if (elements == null) return super.size();
+        parseTo(elements, Integer.MAX_VALUE);
+        return elements.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Elements elements = elements();
+        return elements == null ? super.isEmpty() : !parseTo(elements, 0);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Elements elements = elements();
+        if (elements == null) return super.contains(o);
+        for (V value : this) {
+            if (Objects.equals(o, value)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public @NotNull Iterator<V> iterator() {
+        Elements elements = elements();
+        if (elements == null) return super.iterator();
+        return new Iterator<V>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return parseTo(elements, cursor); // Parse only when asked, so that no element is parsed ahead.
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return (V) elements.values[cursor++];
+            }
+        };
+    }
+
+    /**
+     * @return A sized spliterator if the whole source list has been parsed,
+     * otherwise a spliterator that parses elements as they are traversed.
+     */
+    @Override
+    public @NotNull Spliterator<V> spliterator() {
+        Elements elements = elements();
+        if (elements == null) return super.spliterator();
+        if (elements.complete) {
+            return Spliterators.spliterator(elements.values, 0, elements.count, Spliterator.ORDERED);
+        }
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * @return The memoized elements of current source list, or null if the source list is absent.
+     */
+    protected @Nullable Elements elements() {
+        long version = sourceVersion();
+        Object data = getData();
+        if (!(data instanceof List<?>)) return null;
+
+        Elements current = this.elements;
+        if (current != null && current.version == version && current.data == data) return current;
+
+        Elements created = new Elements(version, (List<?>) data);
+        this.elements = created;
+        return created;
+    }
+
+    /**
+     * Parse the source list in order, until the valid element of the index is parsed.
+     *
+     * @param elements The memoized elements
+     * @param index    The index of valid elements
+     * @return Whether the element of the index exists
+     */
+    private boolean parseTo(@NotNull Elements elements, int index) {
+        if (index < elements.count) return true;
+        if (elements.complete) return false;
+        synchronized (elements) {
+            // Bounded by the size when memoized, as the list may be modified in place by this value afterwards.
+            int size = Math.min(elements.values.length, elements.data.size());
+            while (elements.count <= index && elements.cursor < size) {
+                int source = elements.cursor++;
+                Object value = parseElement(elements.data.get(source), source);
+                if (value == ABSENT) continue;
+                elements.values[elements.count] = value;
+                elements.count = elements.count + 1; // Publishes the value written above.
+            }
+            if (elements.cursor >= size) elements.complete = true;
+            return index < elements.count;
+        }
+    }
+
+    private @Nullable Object parseElement(@Nullable Object data, int index) {
+        if (data == null) return ABSENT;
+        ValueParser<V> parser = parser();
+        if (parser == null) return ABSENT;
+        try {
+            return withValidated(parser.parse(holder(), paramType(), data));
+        } catch (Exception e) {
+            throwing(path + "[" + index + "]", e);
+            return ABSENT;
+        }
+    }
+
+    protected static final class Elements {
+
+        private final long version;
+        private final @NotNull List<?> data;
+        /**
+         * Valid elements in order, only the first {@link #count} elements are published.
+         */
+        private final @Nullable Object @NotNull [] values;
+        /**
+         * Index of the next source element to parse, guarded by this.
+         */
+        private int cursor;
+        private volatile int count;
+        private volatile boolean complete;
+
+        private Elements(long version, @NotNull List<?> data) {
+            this.version = version;
+            this.data = data;
+            this.values = new Object[data.size()];
+        }
+
+    }
+
+}
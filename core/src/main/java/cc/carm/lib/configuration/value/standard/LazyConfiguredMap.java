@@ -0,0 +1,269 @@
+package cc.carm.lib.configuration.value.standard;
+
+import cc.carm.lib.configuration.adapter.ValueAdapter;
+import cc.carm.lib.configuration.adapter.ValueParser;
+import cc.carm.lib.configuration.adapter.ValueSerializer;
+import cc.carm.lib.configuration.source.section.ConfigureSection;
+import cc.carm.lib.configuration.value.ValueManifest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ConfiguredMap} that parses entries on demand, for maps with a large number of entries.
+ * <br>{@link #get(Object)} and {@link #containsKey(Object)} read the backing section directly,
+ * parsed entries are cached per key until the data of this value changes.
+ * {@link #put(Object, Object)} and {@link #remove(Object)} write the single entry to the backing section.
+ * <br>{@link #size()} and views like {@link #keySet()} and {@link #entrySet()} still materialize the whole map,
+ * so that they always agree with each other.
+ * <p>Keys are located by their serialized form,
+ * so the key serializer should produce the same string as the key stored in the source,
+ * and keys that do not survive a round trip through the key adapter will never be contained.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LazyConfiguredMap<K, V> extends ConfiguredMap<K, V> {
+
+    /**
+     * Marker of keys that are absent or failed to parse.
+     */
+    private static final Object ABSENT = new Object();
+    /**
+     * Marker of keys that are present with a null value.
+     */
+    private static final Object NULL = new Object();
+
+    private final @NotNull AtomicReference<KeyIndex> index = new AtomicReference<>(new KeyIndex(Long.MIN_VALUE, new ConcurrentHashMap<>()));
+
+    public LazyConfiguredMap(@NotNull ValueManifest<Map<K, V>, V> manifest,
+                             @NotNull Supplier<? extends Map<K, V>> constructor,
+                             @NotNull ValueAdapter<K> keyAdapter, @NotNull ValueAdapter<V> valueAdapter) {
+        super(manifest, constructor, keyAdapter, valueAdapter);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object entry = lookup(key);
+        if (entry == null) return super.get(key);
+        return entry == ABSENT || entry == NULL ? null : (V) entry;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object entry = lookup(key);
+        return entry == null ? super.containsKey(key) : entry != ABSENT;
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+        synchronized (this.parseLock) {
+            ConfigureSection section = entries();
+            String dataKey = dataKey(key);
+            ValueSerializer<V> serializer = serializerFor(valueAdapter);
+            if (section == null || !isLocatable(dataKey) || value == null || serializer == null) {
+                return super.put(key, value);
+            }
+
+            Object data;
+            try {
+                data = serializer.serialize(holder(), valueType(), withValidated(value));
+            } catch (Exception ex) {
+                throwing(path + "." + dataKey, ex);
+                return get(key); // Invalid values are reported and never written.
+            }
+
+            V previous = get(key);
+            long before = sourceVersion();
+            config().set(entryPath(dataKey), data);
+            applied(before, key, dataKey, value);
+            return previous;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        synchronized (this.parseLock) {
+            ConfigureSection section = entries();
+            String dataKey = dataKey(key);
+            if (section == null || !isLocatable(dataKey)) return super.remove(key);
+
+            V previous = get(key);
+            if (section.getChild(dataKey) == null) return previous;
+
+            long before = sourceVersion();
+            config().remove(entryPath(dataKey));
+            applied(before, (K) key, dataKey, ABSENT);
+            return previous;
+        }
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> m) {
+        synchronized (this.parseLock) {
+            for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return The section of entries, or null if it is absent or empty,
+     * in which case the default map should be used.
+     */
+    protected @Nullable ConfigureSection entries() {
+        Object data = getData();
+        if (!(data instanceof ConfigureSection)) return null;
+        ConfigureSection section = (ConfigureSection) data;
+        return section.isEmpty() ? null : section;
+    }
+
+    /**
+     * Convert the key to the key in the source data through the key adapter.
+     * <br>The key must be parsed back to itself from the data key,
+     * so that keys of other types or in other forms, like {@code "42"} for {@code 42}, will never be contained.
+     *
+     * @param key The key
+     * @return The key in the source data, or null if the key is not a valid key of this map.
+     */
+    @SuppressWarnings("unchecked")
+    protected @Nullable String dataKey(@Nullable Object key) {
+        if (key == null) return null;
+        ValueSerializer<K> serializer = serializerFor(keyAdapter);
+        ValueParser<K> parser = parserFor(keyAdapter);
+        if (serializer == null || parser == null) return null;
+        try {
+            Object data = serializer.serialize(holder(), keyType(), (K) key);
+            if (data == null) return null;
+            String dataKey = data.toString();
+            return Objects.equals(key, parser.parse(holder(), keyType(), dataKey)) ? dataKey : null;
+        } catch (Exception ex) {
+            return null; // Not a valid key, so it will never be contained.
+        }
+    }
+
+    /**
+     * @param dataKey The key in the source data
+     * @return Whether the entry can be located directly, keys containing the path separator cannot.
+     */
+    protected boolean isLocatable(@Nullable String dataKey) {
+        return dataKey != null && dataKey.indexOf(config().pathSeparator()) < 0;
+    }
+
+    protected @NotNull String entryPath(@NotNull String dataKey) {
+        return path() + config().pathSeparator() + dataKey;
+    }
+
+    /**
+     * @param key The key
+     * @return The cached or parsed entry of the key, {@link #ABSENT} if the key is not contained,
+     * or null if the entry cannot be read directly and the materialized map should be used.
+     */
+    private @Nullable Object lookup(@Nullable Object key) {
+        long version = sourceVersion();
+        if (key == null || this.cache.get().validFor(version)) return null;
+
+        ConfigureSection section = entries();
+        if (section == null) return null; // Defaults or empty map
+
+        String dataKey = dataKey(key);
+        if (dataKey == null) return ABSENT;
+        if (!isLocatable(dataKey)) return null;
+
+        KeyIndex index = indexOf(version);
+        Object cached = index.entries.get(dataKey);
+        if (cached == null) {
+            cached = parseEntry(section, dataKey);
+            Object present = index.entries.putIfAbsent(dataKey, cached); // Never overwrite entries written meanwhile.
+            if (present != null) cached = present;
+        }
+        return cached;
+    }
+
+    private @NotNull Object parseEntry(@NotNull ConfigureSection section, @NotNull String dataKey) {
+        Object data = section.getChild(dataKey);
+        if (data == null) return ABSENT;
+
+        ValueParser<V> parser = parserFor(valueAdapter);
+        if (parser == null) return ABSENT;
+        try {
+            V value = withValidated(parser.parse(holder(), valueType(), data));
+            return value == null ? NULL : value;
+        } catch (Exception e) {
+            throwing(path + "." + dataKey, e);
+            return ABSENT;
+        }
+    }
+
+    /**
+     * Get the index of parsed entries for the version,
+     * an index of older versions will never replace the current one.
+     *
+     * @param version The source version
+     * @return The index of the version
+     */
+    private @NotNull KeyIndex indexOf(long version) {
+        while (true) {
+            KeyIndex current = this.index.get();
+            if (current.version == version) return current;
+
+            KeyIndex created = new KeyIndex(version, new ConcurrentHashMap<>());
+            if (current.version > version) return created; // Outdated reader, parse without caching.
+            if (this.index.compareAndSet(current, created)) return created;
+        }
+    }
+
+    /**
+     * Record a single entry written by this value,
+     * parsed entries and the materialized map are moved to the new version if they were up-to-date.
+     * <br>The materialized map is copied, as it may be used by readers.
+     * <br>Must be called with {@link #parseLock} held.
+     *
+     * @param before  The source version before written
+     * @param key     The key written
+     * @param dataKey The key in the source data
+     * @param value   The value written, or {@link #ABSENT} if removed
+     */
+    @SuppressWarnings("unchecked")
+    private void applied(long before, @NotNull K key, @NotNull String dataKey, @NotNull Object value) {
+        long version = sourceVersion();
+
+        KeyIndex current = this.index.get();
+        KeyIndex index = current.version == before ? current.moveTo(version) : new KeyIndex(version, new ConcurrentHashMap<>());
+        index.entries.put(dataKey, value);
+        this.index.set(index);
+
+        Snapshot<Map<K, V>> full = this.cache.get();
+        if (full.validFor(before) && full.value() != null) {
+            Map<K, V> map = this.constructor.get();
+            map.putAll(full.value());
+            if (value == ABSENT) map.remove(key);
+            else map.put(key, (V) value);
+            updateCache(map, version, full.error());
+        }
+    }
+
+    private static final class KeyIndex {
+
+        private final long version;
+        private final @NotNull ConcurrentHashMap<String, Object> entries;
+
+        private KeyIndex(long version, @NotNull ConcurrentHashMap<String, Object> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+
+        private @NotNull KeyIndex moveTo(long version) {
+            return this.version == version ? this : new KeyIndex(version, this.entries);
+        }
+
+    }
+
+}
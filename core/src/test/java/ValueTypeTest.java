@@ -0,0 +1,41 @@
+import cc.carm.lib.configuration.adapter.ValueType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class ValueTypeTest {
+
+    @Test
+    public void shared() {
+        Assert.assertSame(ValueType.INTEGER, ValueType.of(Integer.class));
+        Assert.assertSame(ValueType.OBJECT, ValueType.of(Object.class));
+        Assert.assertSame(ValueType.of(UUID.class), ValueType.of(UUID.randomUUID()));
+        Assert.assertSame(ValueType.ofList(String.class), ValueType.ofList(String.class));
+        Assert.assertSame(ValueType.ofMap(String.class, Long.class), ValueType.ofMap(String.class, Long.class));
+        Assert.assertNotSame(ValueType.ofList(String.class), ValueType.ofList(Long.class));
+    }
+
+    @Test
+    public void equality() {
+        ValueType<List<String>> declared = new ValueType<List<String>>() {
+        };
+        Assert.assertEquals(declared, ValueType.ofList(String.class));
+        Assert.assertEquals(ValueType.ofList(String.class), declared);
+        Assert.assertEquals(declared.hashCode(), ValueType.ofList(String.class).hashCode());
+
+        ValueType<Map<String, List<String>>> nested = new ValueType<Map<String, List<String>>>() {
+        };
+        Assert.assertEquals(nested, ValueType.ofMap(ValueType.STRING, ValueType.ofList(String.class)));
+
+        // Member types are owned by their declaring classes.
+        ValueType<Map.Entry<String, Long>> member = new ValueType<Map.Entry<String, Long>>() {
+        };
+        Assert.assertEquals(member, ValueType.of(Map.Entry.class, String.class, Long.class));
+        Assert.assertEquals(ValueType.of(Map.Entry.class, String.class, Long.class), member);
+        Assert.assertEquals(member.hashCode(), ValueType.of(Map.Entry.class, String.class, Long.class).hashCode());
+    }
+
+}
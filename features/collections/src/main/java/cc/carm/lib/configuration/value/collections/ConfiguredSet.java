@@ -6,6 +6,7 @@ import cc.carm.lib.configuration.builder.set.ConfigSetBuilder;
 import cc.carm.lib.configuration.value.ValueManifest;
 import cc.carm.lib.configuration.value.impl.CollectionConfigValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -44,6 +45,16 @@ public class ConfiguredSet<V> extends CollectionConfigValue<V, Set<V>, Configure
         super(manifest, constructor, paramAdapter);
     }
 
+    @Override
+    public @NotNull @Unmodifiable Set<V> view() {
+        return sharedView();
+    }
+
+    @Override
+    protected @NotNull Object viewOf(@NotNull Set<V> value) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(value));
+    }
+
     @Override
     public @NotNull ConfiguredSet<V> self() {
         return this;
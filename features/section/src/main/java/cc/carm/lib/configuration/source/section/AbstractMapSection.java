@@ -5,24 +5,74 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implements ConfigureSection {
 
-    protected final @NotNull Map<String, Object> data;
+    /**
+     * Sequence of modification stamps shared by all sections,
+     * so that the stamp of a new section never equals the stamp of a replaced one.
+     */
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    static long nextStamp() {
+        return STAMPS.incrementAndGet();
+    }
+
+    /**
+     * Data of this section, replaced by a compact {@link FrozenMap} when {@link #freeze() frozen},
+     * and replaced back by a mutable map on the first modification.
+     */
+    protected volatile @NotNull Map<String, Object> data;
     protected final @Nullable R parent;
     protected final @NotNull String path;
+    private volatile long stamp = nextStamp();
+    /**
+     * The deep size of this section and the stamp it was counted at.
+     */
+    private volatile @Nullable DeepSize deepSize;
+
+    /**
+     * Whether the data may contain raw maps kept by lazy migration.
+     */
+    private volatile boolean raw;
+    /**
+     * Sections converted from the raw maps in the data, by their keys.
+     * <br>Raw maps are never replaced in the data by reads, so readers never modify the data.
+     */
+    private volatile @Nullable Map<String, Adopted> adopted;
 
     protected AbstractMapSection(@Nullable R parent, @NotNull String path) {
+        this(parent, path, new LinkedHashMap<>());
+    }
+
+    protected AbstractMapSection(@Nullable R parent, @NotNull String path, @NotNull Map<String, Object> data) {
         this.parent = parent;
         this.path = path;
-        this.data = new LinkedHashMap<>();
+        this.data = data;
+    }
+
+    /**
+     * @return An empty data map for sections, which is safe for concurrent access if required.
+     * @see #concurrent()
+     */
+    protected static @NotNull Map<String, Object> createData(boolean concurrent) {
+        return concurrent ? new ConcurrentOrderedMap() : new LinkedHashMap<>();
     }
 
     public void migrate(Map<?, ?> data) {
+        boolean lazy = lazyMigration();
         for (Map.Entry<?, ?> entry : data.entrySet()) {
             String key = (entry.getKey() == null) ? "" : entry.getKey().toString();
             if (entry.getValue() instanceof Map) {
-                this.data.put(key, createSection(key, (Map<?, ?>) entry.getValue()));
+                // Raw maps are converted to sections when first accessed by child(key).
+                if (lazy) {
+                    mutableData().put(key, entry.getValue());
+                    this.raw = true;
+                } else {
+                    mutableData().put(key, createSection(key, (Map<?, ?>) entry.getValue()));
+                }
             } else if (entry.getValue() instanceof List) {
                 List<Object> list = new ArrayList<>();
                 int index = 0;
@@ -34,11 +84,154 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
                     }
                     index++;
                 }
-                this.data.put(key, list);
+                mutableData().put(key, concurrent() ? Collections.unmodifiableList(list) : list);
             } else {
-                this.data.put(key, entry.getValue());
+                mutableData().put(key, entry.getValue());
             }
         }
+        if (!data.isEmpty()) modified();
+    }
+
+    /**
+     * Whether nested maps should be kept as plain maps when migrating,
+     * and converted to sections when first accessed.
+     * <br>The plain maps are kept by reference and owned by the section since then,
+     * so they should never be modified after migrated, only one level of them is copied when converted.
+     * <br>Maps in lists are always converted when migrating,
+     * but their nested maps will also be converted lazily.
+     *
+     * @return true if migrate lazily
+     */
+    protected boolean lazyMigration() {
+        return false;
+    }
+
+    /**
+     * Whether this section should be safe for concurrent reads and writes.
+     * <br>Concurrent sections are backed by an insertion-ordered concurrent map,
+     * and their child sections are created atomically.
+     * <br>Lists in concurrent sections are kept as read-only copies,
+     * so they are replaced by {@link #set(String, Object)} instead of modified in place.
+     *
+     * @return true if the data of this section may be accessed concurrently
+     */
+    protected boolean concurrent() {
+        return false;
+    }
+
+    /**
+     * Get the direct child value of the key,
+     * a raw map kept by lazy migration will be converted to a section at the first time.
+     *
+     * @param key The key of the child
+     * @return The child value
+     */
+    protected @Nullable Object child(@NotNull String key) {
+        Object value = this.data.get(key);
+        return value instanceof Map<?, ?> ? adopt(key, (Map<?, ?>) value) : value;
+    }
+
+    /**
+     * Get the section converted from a raw map kept by lazy migration, which is created only once.
+     * <br>The raw map is kept in the data, so that reads never modify the data.
+     *
+     * @param key The key of the raw map
+     * @param raw The raw map
+     * @return The section converted from the raw map
+     */
+    private @NotNull R adopt(@NotNull String key, @NotNull Map<?, ?> raw) {
+        Map<String, Adopted> adopted = this.adopted;
+        Adopted current = adopted == null ? null : adopted.get(key);
+        if (current != null && current.raw == raw) return current.section();
+
+        synchronized (this) {
+            adopted = this.adopted;
+            if (adopted == null) this.adopted = adopted = new ConcurrentHashMap<>();
+            current = adopted.get(key);
+            if (current != null && current.raw == raw) return current.section();
+
+            R section = createSection(key, raw);
+            adopted.put(key, new Adopted(raw, section));
+            return section;
+        }
+    }
+
+    /**
+     * Forget the section converted from the raw map of the key, must be called after the key written.
+     *
+     * @param key The key written
+     */
+    private void unadopt(@NotNull String key) {
+        Map<String, Adopted> adopted = this.adopted;
+        if (adopted != null) adopted.remove(key);
+    }
+
+    /**
+     * Convert this section and all its child sections to a compact read-only layout,
+     * for sections that are mostly read and kept in memory for a long time.
+     * <br>Raw maps kept by lazy migration will be converted first.
+     * A frozen section switches back to a mutable map transparently on the first modification,
+     * other sections in the tree will be kept frozen.
+     */
+    public void freeze() {
+        Map<String, Object> source = this.data;
+        Map<String, Object> current = data();
+        for (Object value : current.values()) {
+            if (value instanceof AbstractMapSection<?>) {
+                ((AbstractMapSection<?>) value).freeze();
+            } else if (value instanceof List<?>) {
+                for (Object element : (List<?>) value) {
+                    if (element instanceof AbstractMapSection<?>) ((AbstractMapSection<?>) element).freeze();
+                }
+                if (value instanceof ArrayList<?>) ((ArrayList<?>) value).trimToSize();
+            }
+        }
+        synchronized (this) {
+            if (this.data == source && !(source instanceof FrozenMap)) {
+                this.data = new FrozenMap(current); // Raw maps are replaced by their sections.
+                this.raw = false;
+                this.adopted = null;
+            }
+        }
+    }
+
+    /**
+     * @return Whether this section is frozen and not modified since then.
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return this.data instanceof FrozenMap;
+    }
+
+    /**
+     * @return The data map that can be modified, a frozen map will be replaced by a mutable copy first.
+     */
+    protected @NotNull Map<String, Object> mutableData() {
+        Map<String, Object> current = this.data;
+        if (!(current instanceof FrozenMap)) return current;
+        synchronized (this) {
+            current = this.data;
+            if (current instanceof FrozenMap) {
+                current = concurrent() ? new ConcurrentOrderedMap(current) : new LinkedHashMap<>(current);
+                this.data = current;
+            }
+            return current;
+        }
+    }
+
+    @Override
+    public long stamp() {
+        return this.stamp;
+    }
+
+    /**
+     * Renew the stamps of this section and all its parents, must be called after the data modified.
+     */
+    protected void modified() {
+        long stamp = nextStamp();
+        for (AbstractMapSection<?> section = this; section != null; section = section.parent) {
+            section.stamp = stamp;
+        }
     }
 
     public abstract @NotNull R self();
@@ -53,16 +246,21 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
 
     @Override
     public boolean contains(@NotNull String path) {
-        R section = getSectionFor(path);
-        if (section == this) {
-            return this.data().containsKey(path);
-        } else {
-            return section.contains(childPath(path));
-        }
+        char separator = pathSeparator();
+        if (path.indexOf(separator) == -1) return this.data.containsKey(path);
+
+        SectionPath compiled = SectionPath.cached(path, separator);
+        ConfigureSection parent = compiled.parentIn(this);
+        return parent != null && parent.contains(compiled.lastKey());
     }
 
+    /**
+     * @return The data of this section, raw maps kept by lazy migration are presented by their sections.
+     * <br>The data is read-only, use {@link #set(String, Object)} to modify it.
+     */
     public @NotNull Map<String, Object> data() {
-        return this.data;
+        Map<String, Object> data = this.data;
+        return this.raw ? new AdoptedView(data) : data;
     }
 
     @Override
@@ -70,16 +268,33 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
         return this.data.isEmpty();
     }
 
+    /**
+     * @param deep Whether to count the keys of child sections
+     * @return The number of keys, the deep size is counted once for each stamp,
+     * and only the child sections modified since then are counted again.
+     */
     @Override
     public int size(boolean deep) {
-        return deep ? getKeys(true).size() : this.data.size();
+        if (!deep) return this.data.size();
+
+        long stamp = this.stamp; // Read before counting, so a size counted from newer data is outdated at worst.
+        DeepSize cached = this.deepSize;
+        if (cached != null && cached.stamp == stamp) return cached.size;
+
+        int size = 0;
+        for (Object value : data().values()) {
+            size++;
+            if (value instanceof ConfigureSection) size += ((ConfigureSection) value).size(true);
+        }
+        this.deepSize = new DeepSize(stamp, size);
+        return size;
     }
 
     @Override
     @UnmodifiableView
     public @NotNull Map<String, Object> asMap() {
         Map<String, Object> output = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : this.data.entrySet()) {
+        for (Map.Entry<String, Object> entry : data().entrySet()) {
             if (entry.getValue() instanceof AbstractMapSection<?>) {
                 output.put(entry.getKey(), ((AbstractMapSection<?>) entry.getValue()).asMap());
             } else if (entry.getValue() instanceof List<?>) {
@@ -99,30 +314,90 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
         return output;
     }
 
+    /**
+     * Copy a map built by {@link #asMap()} to be unmodifiable at every level,
+     * so it can be cached and shared between readers.
+     *
+     * @param map The map to wrap, which is copied at every level.
+     * @return The unmodifiable map, with all nested maps and lists unmodifiable.
+     */
+    @SuppressWarnings("unchecked")
+    static @NotNull @UnmodifiableView Map<String, Object> unmodifiableDeep(@NotNull Map<String, Object> map) {
+        return (Map<String, Object>) unmodifiableValue(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object unmodifiableValue(Object value) {
+        if (value instanceof Map<?, ?>) {
+            Map<Object, Object> map = new LinkedHashMap<>((Map<Object, Object>) value);
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                entry.setValue(unmodifiableValue(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(map);
+        } else if (value instanceof List<?>) {
+            List<Object> list = new ArrayList<>((List<?>) value);
+            list.replaceAll(AbstractMapSection::unmodifiableValue);
+            return Collections.unmodifiableList(list);
+        }
+        return value;
+    }
+
     public @Nullable R parent() {
         return this.parent;
     }
 
 
+    /**
+     * @param deep Whether to get a deep map.
+     * @return The live view of direct values, or a snapshot of deep values.
+     * @see #viewValues(boolean)
+     */
     @Override
     public @NotNull Map<String, Object> getValues(boolean deep) {
-        return Collections.unmodifiableMap(deep ? mappingValues(this, null, true, String.valueOf(pathSeparator())) : data());
+        if (!deep) return Collections.unmodifiableMap(data());
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : new DeepView(this).entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(values);
     }
 
+    /**
+     * @param deep Whether to get a deep set.
+     * @return The live view of direct keys, or a snapshot of deep keys.
+     * @see #viewKeys(boolean)
+     */
     @Override
     public @NotNull @UnmodifiableView Set<String> getKeys(boolean deep) {
-        return Collections.unmodifiableSet(deep ? mappingKeys(this, null, true, String.valueOf(pathSeparator())) : data().keySet());
+        if (!deep) return Collections.unmodifiableSet(this.data.keySet());
+        Set<String> keys = new LinkedHashSet<>();
+        for (Map.Entry<String, Object> entry : new DeepView(this).entrySet()) keys.add(entry.getKey());
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * @param deep Whether to include the values of child sections.
+     * @return The live view of values, deep entries are yielded on the fly without copying.
+     */
+    @Override
+    public @NotNull @UnmodifiableView Map<String, Object> viewValues(boolean deep) {
+        return deep ? new DeepView(this) : Collections.unmodifiableMap(data());
     }
 
     @Override
     public void set(@NotNull String path, @Nullable Object value) {
         if (value instanceof Map) value = createSection(path, (Map<?, ?>) value);
+        else if (value instanceof List && concurrent()) {
+            value = Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        }
 
-        R section = getSectionFor(path);
+        R section = computeSectionFor(path);
         if (section == this) {
             // Even this value is null, we still need to put it in the map
             // to ensure that the path is marked as existing.
-            this.data.put(path, value);
+            mutableData().put(path, value);
+            unadopt(path);
+            modified();
         } else {
             section.set(childPath(path), value);
         }
@@ -130,36 +405,71 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
 
     @Override
     public void remove(@NotNull String path) {
-        R section = getSectionFor(path);
-        if (section != this) {
-            section.remove(childPath(path));
-        } else {
-            this.data.remove(path);
+        char separator = pathSeparator();
+        int index = path.indexOf(separator);
+        if (index == -1) {
+            if (this.data.containsKey(path)) {
+                mutableData().remove(path);
+                unadopt(path);
+                modified();
+            }
+            return;
+        }
+
+        Object child = child(path.substring(0, index));
+        if (child instanceof ConfigureSection) {
+            ((ConfigureSection) child).remove(path.substring(index + 1));
         }
     }
 
+    /**
+     * Get the value of the path without any modification to the sections,
+     * missing sections in the path will never be created.
+     *
+     * @param path The path to get the value from.
+     * @return The value at the path, or null if not found.
+     */
     @Override
     public @Nullable Object get(@NotNull String path) {
-        R section = getSectionFor(path);
-        return section == this ? data.get(path) : section.get(childPath(path));
+        char separator = pathSeparator();
+        if (path.indexOf(separator) == -1) return child(path);
+        // Walk the keys of the compiled path, so no substring is created for each read.
+        return SectionPath.cached(path, separator).get(this);
+    }
+
+    @Override
+    public @Nullable Object getChild(@NotNull String key) {
+        return child(key);
     }
 
+    /**
+     * Get the section that should contain the path, missing sections will be created.
+     * <br>Only used by modifications, reads should never create sections.
+     *
+     * @param path The path to modify
+     * @return The section to modify, or this section if the path has no parent section.
+     */
     @SuppressWarnings("unchecked")
-    private R getSectionFor(String path) {
+    private R computeSectionFor(String path) {
         int index = path.indexOf(pathSeparator());
         if (index == -1) return self();
 
         String root = path.substring(0, index);
-        return (R) computeSection(root);
+        if (!concurrent()) return (R) computeSection(root);
+
+        Object child = child(root);
+        if (child instanceof AbstractMapSection<?>) return (R) child;
+        synchronized (this) { // Make sure only one section is created for the root.
+            return (R) computeSection(root);
+        }
     }
 
+
     /**
-     * Map the values of the children of the section to the output map.
-     *
-     * @param section The section to map the values from
-     * @param parent  The parent path
-     * @param deep    If the mapping should be deep
+     * @deprecated Deep values are counted and iterated without copying now,
+     * use {@link #viewValues(boolean)} for a live view, or {@link #getValues(boolean)} for a snapshot.
      */
+    @Deprecated
     protected static Map<String, Object> mappingValues(@NotNull AbstractMapSection<?> section, @Nullable String parent, boolean deep, String pathSeparator) {
         Map<String, Object> output = new LinkedHashMap<>();
         for (Map.Entry<String, Object> entry : section.data().entrySet()) {
@@ -173,6 +483,11 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
         return output;
     }
 
+    /**
+     * @deprecated Deep keys are iterated without copying now,
+     * use {@link #viewKeys(boolean)} for a live view, or {@link #getKeys(boolean)} for a snapshot.
+     */
+    @Deprecated
     protected static Set<String> mappingKeys(@NotNull AbstractMapSection<?> section, @Nullable String parent, boolean deep, String pathSeparator) {
         Set<String> keys = new LinkedHashSet<>();
         for (Map.Entry<String, Object> entry : section.data().entrySet()) {
@@ -185,5 +500,94 @@ public abstract class AbstractMapSection<R extends AbstractMapSection<R>> implem
         return keys;
     }
 
+    private static final class DeepSize {
+
+        private final long stamp;
+        private final int size;
+
+        private DeepSize(long stamp, int size) {
+            this.stamp = stamp;
+            this.size = size;
+        }
+
+    }
+
+    /**
+     * Section converted from a raw map, valid only while the raw map is still in the data.
+     */
+    private final class Adopted {
+
+        private final @NotNull Map<?, ?> raw;
+        private final @NotNull R section;
+
+        private Adopted(@NotNull Map<?, ?> raw, @NotNull R section) {
+            this.raw = raw;
+            this.section = section;
+        }
+
+        private @NotNull R section() {
+            return this.section;
+        }
+
+    }
+
+    /**
+     * Read-only view of the data, which presents raw maps by their sections.
+     */
+    private final class AdoptedView extends AbstractMap<String, Object> {
+
+        private final @NotNull Map<String, Object> data;
+
+        private AdoptedView(@NotNull Map<String, Object> data) {
+            this.data = data;
+        }
+
+        private Object resolve(@NotNull String key, @Nullable Object value) {
+            return value instanceof Map<?, ?> ? adopt(key, (Map<?, ?>) value) : value;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String ? resolve((String) key, this.data.get(key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.data.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.data.size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public @NotNull Iterator<Entry<String, Object>> iterator() {
+                    Iterator<Entry<String, Object>> entries = data.entrySet().iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            Entry<String, Object> entry = entries.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), resolve(entry.getKey(), entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return data.size();
+                }
+            };
+        }
+
+    }
 
 }
@@ -0,0 +1,263 @@
+package cc.carm.lib.configuration.source.section;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Lazy deep view of the values in a section, used by {@link AbstractMapSection#viewValues(boolean)}.
+ * <br>Entries are yielded depth-first on the fly without copying the maps of each level,
+ * full paths are only built when {@link Map.Entry#getKey()} is called.
+ * <br>The view reflects the current data of the section, lookups are delegated to the section.
+ */
+final class DeepView extends AbstractMap<String, Object> {
+
+    private final @NotNull AbstractMapSection<?> section;
+
+    DeepView(@NotNull AbstractMapSection<?> section) {
+        this.section = section;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof String ? this.section.get((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && this.section.contains((String) key);
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                return new DeepIterator(section.pathSeparator(), null, section);
+            }
+
+            @Override
+            public int size() {
+                return section.size(true);
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return section.isEmpty();
+            }
+
+            @Override
+            public @NotNull Spliterator<Entry<String, Object>> spliterator() {
+                PathEntry[] roots = entriesOf(section.pathSeparator(), null, section);
+                return new DeepSpliterator(roots, 0, roots.length, true);
+            }
+        };
+    }
+
+    /**
+     * @return The entries of the direct values of the section, under the parent entry.
+     */
+    static @NotNull PathEntry[] entriesOf(char separator, @Nullable PathEntry parent,
+                                          @NotNull AbstractMapSection<?> section) {
+        List<PathEntry> entries = new ArrayList<>();
+        for (Entry<String, Object> entry : section.data().entrySet()) {
+            entries.add(new PathEntry(separator, parent, entry.getKey(), entry.getValue()));
+        }
+        return entries.toArray(new PathEntry[0]);
+    }
+
+    /**
+     * Entry of a full path, which is built from its parents only when required.
+     */
+    static final class PathEntry implements Entry<String, Object> {
+
+        private final char separator;
+        private final @Nullable PathEntry parent;
+        private final @NotNull String key;
+        private final Object value;
+        private @Nullable String path;
+
+        PathEntry(char separator, @Nullable PathEntry parent, @NotNull String key, Object value) {
+            this.separator = separator;
+            this.parent = parent;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public @NotNull String getKey() {
+            String path = this.path;
+            if (path != null) return path;
+            if (this.parent == null) return this.path = this.key;
+
+            int length = this.key.length();
+            for (PathEntry node = this.parent; node != null; node = node.parent) length += node.key.length() + 1;
+            char[] chars = new char[length];
+            int end = length;
+            for (PathEntry node = this; node != null; node = node.parent) {
+                end -= node.key.length();
+                node.key.getChars(0, node.key.length(), chars, end);
+                if (node.parent != null) chars[--end] = this.separator;
+            }
+            return this.path = new String(chars);
+        }
+
+        @Override
+        public Object getValue() {
+            return this.value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry<?, ?>)) return false;
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return getKey().equals(other.getKey()) && Objects.equals(this.value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + this.value;
+        }
+
+    }
+
+    /**
+     * Depth-first iterator of the entries of a section and its child sections.
+     */
+    static final class DeepIterator implements Iterator<Entry<String, Object>> {
+
+        private final char separator;
+        private final Deque<Level> levels = new ArrayDeque<>();
+
+        DeepIterator(char separator, @Nullable PathEntry parent, @NotNull AbstractMapSection<?> section) {
+            this.separator = separator;
+            this.levels.push(new Level(parent, section));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.levels.isEmpty()) {
+                if (this.levels.peek().entries.hasNext()) return true;
+                this.levels.pop();
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Level level = this.levels.peek();
+            Entry<String, Object> entry = level.entries.next();
+            PathEntry current = new PathEntry(this.separator, level.parent, entry.getKey(), entry.getValue());
+            if (entry.getValue() instanceof AbstractMapSection<?>) {
+                this.levels.push(new Level(current, (AbstractMapSection<?>) entry.getValue()));
+            }
+            return current;
+        }
+
+        private static final class Level {
+
+            private final @Nullable PathEntry parent;
+            private final @NotNull Iterator<Entry<String, Object>> entries;
+
+            private Level(@Nullable PathEntry parent, @NotNull AbstractMapSection<?> section) {
+                this.parent = parent;
+                this.entries = section.data().entrySet().iterator();
+            }
+
+        }
+
+    }
+
+    /**
+     * Spliterator that splits the entries of a level, and traverses each of them depth-first.
+     * <br>If only one section is left in the level, it splits the section itself from its children,
+     * and continues splitting the level of its children, so a large subtree under one key can be split too.
+     * Only the levels not started are split, a section being traversed is never split.
+     */
+    static final class DeepSpliterator implements Spliterator<Entry<String, Object>> {
+
+        private @NotNull PathEntry[] roots;
+        private int index;
+        private int fence;
+        /**
+         * Whether to traverse the children of sections, false for a section split from its children.
+         */
+        private final boolean deep;
+        private @Nullable DeepIterator children;
+
+        DeepSpliterator(@NotNull PathEntry[] roots, int index, int fence, boolean deep) {
+            this.roots = roots;
+            this.index = index;
+            this.fence = fence;
+            this.deep = deep;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<String, Object>> action) {
+            if (this.children != null) {
+                if (this.children.hasNext()) {
+                    action.accept(this.children.next());
+                    return true;
+                }
+                this.children = null;
+            }
+            if (this.index >= this.fence) return false;
+
+            PathEntry root = this.roots[this.index++];
+            if (this.deep && root.getValue() instanceof AbstractMapSection<?>) {
+                this.children = new DeepIterator(root.separator, root, (AbstractMapSection<?>) root.getValue());
+            }
+            action.accept(root);
+            return true;
+        }
+
+        @Override
+        public @Nullable Spliterator<Entry<String, Object>> trySplit() {
+            if (this.children != null || !this.deep) return null; // Traversing a child section
+            if (this.fence - this.index == 1) {
+                PathEntry root = this.roots[this.index];
+                if (!(root.getValue() instanceof AbstractMapSection<?>)) return null;
+                PathEntry[] entries = entriesOf(root.separator, root, (AbstractMapSection<?>) root.getValue());
+                if (entries.length == 0) return null;
+
+                // The section goes first, and then this continues with its children.
+                DeepSpliterator prefix = new DeepSpliterator(this.roots, this.index, this.fence, false);
+                this.roots = entries;
+                this.index = 0;
+                this.fence = entries.length;
+                return prefix;
+            }
+
+            int middle = (this.index + this.fence) >>> 1;
+            if (middle <= this.index) return null;
+            DeepSpliterator prefix = new DeepSpliterator(this.roots, this.index, middle, true);
+            this.index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL;
+        }
+
+    }
+
+}
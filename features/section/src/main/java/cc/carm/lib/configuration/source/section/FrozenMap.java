@@ -0,0 +1,129 @@
+package cc.carm.lib.configuration.source.section;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Compact read-only map used by frozen sections.
+ * <br>Keys are interned and stored with values in right-sized arrays in insertion order,
+ * small maps are searched linearly, larger ones through an open addressing index table.
+ * No entry nodes are kept, entries are only created while iterating.
+ */
+final class FrozenMap extends AbstractMap<String, Object> {
+
+    private static final int LINEAR_THRESHOLD = 8;
+
+    private final @NotNull String[] keys;
+    private final @NotNull Object[] values;
+    /**
+     * Open addressing table of (index + 1) in {@link #keys}, 0 for empty slots.
+     */
+    private final int @Nullable [] table;
+
+    FrozenMap(@NotNull Map<String, Object> source) {
+        int size = source.size();
+        this.keys = new String[size];
+        this.values = new Object[size];
+
+        int i = 0;
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            this.keys[i] = entry.getKey().intern();
+            this.values[i] = entry.getValue();
+            i++;
+        }
+
+        if (size <= LINEAR_THRESHOLD) {
+            this.table = null;
+            return;
+        }
+
+        int[] table = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = spread(this.keys[index].hashCode()) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = index + 1;
+        }
+        this.table = table;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(@Nullable Object key) {
+        if (!(key instanceof String)) return -1;
+
+        int[] table = this.table;
+        if (table == null) {
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.keys[i] == key || this.keys[i].equals(key)) return i;
+            }
+            return -1;
+        }
+
+        int mask = table.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        int index;
+        while ((index = table[slot]) != 0) {
+            String current = this.keys[index - 1];
+            if (current == key || current.equals(key)) return index - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index == -1 ? null : this.values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int cursor = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return cursor < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[cursor], values[cursor]);
+                        cursor++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+}
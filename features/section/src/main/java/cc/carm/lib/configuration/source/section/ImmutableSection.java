@@ -6,11 +6,18 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+/**
+ * A read-only wrapper of a section.
+ * <br>Wrappers of child sections and the views of values are cached
+ * until the {@link ConfigureSection#stamp() stamp} of the raw section changed,
+ * so repeated reads of an unchanged section do not allocate.
+ */
 public class ImmutableSection implements ConfigureSection {
 
     public static ImmutableSection of(@NotNull ConfigureSection section) {
@@ -22,6 +29,8 @@ public class ImmutableSection implements ConfigureSection {
     protected final @Nullable ImmutableSection parent;
     protected final @NotNull ConfigureSection raw;
 
+    private volatile @Nullable Views views;
+
     private ImmutableSection(@Nullable ImmutableSection parent, @NotNull ConfigureSection raw) {
         this.parent = parent;
         this.raw = raw;
@@ -42,9 +51,22 @@ public class ImmutableSection implements ConfigureSection {
         return raw().path();
     }
 
+    @Override
+    public long stamp() {
+        return raw().stamp();
+    }
+
     @Override
     public @NotNull @UnmodifiableView Map<String, Object> getValues(boolean deep) {
-        return raw().getValues(deep);
+        Views views = views();
+        if (views == null) return raw().getValues(deep);
+
+        Map<String, Object> values = deep ? views.deepValues : views.values;
+        if (values != null) return values;
+        values = raw().getValues(deep);
+        if (deep) views.deepValues = values;
+        else views.values = values;
+        return values;
     }
 
     @Override
@@ -66,20 +88,60 @@ public class ImmutableSection implements ConfigureSection {
     public @Nullable Object get(@NotNull String path) {
         Object value = raw().get(path);
         if (value instanceof ConfigureSection && !(value instanceof ImmutableSection)) {
-            return new ImmutableSection(this, (ConfigureSection) value);
+            return wrap(path, (ConfigureSection) value);
         }
         return value;
     }
 
+    /**
+     * Get the immutable view of a child section.
+     * <p>
+     * Note: This returns null if there is no section at the path,
+     * while earlier versions returned a wrapper of null, which failed on any access.
+     *
+     * @param path The path of the section
+     * @return The immutable view of the section, or null if absent
+     */
     @Override
     public @Nullable ConfigureSection getSection(@NotNull String path) {
         ConfigureSection get = raw().getSection(path);
-        if (!(get instanceof ImmutableSection)) {
-            return new ImmutableSection(this, get);
+        if (get != null && !(get instanceof ImmutableSection)) {
+            return wrap(path, get);
         }
         return get;
     }
 
+    /**
+     * Get the wrapper of a child section, which is reused for the same raw child.
+     */
+    private @NotNull ImmutableSection wrap(@NotNull String path, @NotNull ConfigureSection child) {
+        Views views = views();
+        if (views == null) return new ImmutableSection(this, child);
+
+        ImmutableSection cached = views.children.get(path);
+        if (cached != null && cached.raw == child) return cached;
+
+        ImmutableSection created = new ImmutableSection(this, child);
+        views.children.put(path, created);
+        return created;
+    }
+
+    /**
+     * @return The cached views for current stamp of raw section, or null if the raw section is not tracked.
+     */
+    private @Nullable Views views() {
+        long stamp = raw().stamp();
+        if (stamp == -1) return null;
+
+        Views current = this.views;
+        if (current != null && current.stamp == stamp) return current;
+
+        // The stamp is read before building any view, so views built from newer data are outdated at worst.
+        Views created = new Views(stamp);
+        this.views = created;
+        return created;
+    }
+
     @Override
     public char pathSeparator() {
         return raw().pathSeparator();
@@ -97,22 +159,35 @@ public class ImmutableSection implements ConfigureSection {
 
     @Override
     public @NotNull @UnmodifiableView Set<String> getKeys(boolean deep) {
-        return raw().getKeys(deep);
+        Views views = views();
+        if (views == null) return raw().getKeys(deep);
+
+        Set<String> keys = deep ? views.deepKeys : views.keys;
+        if (keys != null) return keys;
+        keys = raw().getKeys(deep);
+        if (deep) views.deepKeys = keys;
+        else views.keys = keys;
+        return keys;
     }
 
     @Override
     public @NotNull @UnmodifiableView Set<String> keys() {
-        return raw().keys();
+        return getKeys(false);
     }
 
     @Override
     public @NotNull @UnmodifiableView Map<String, Object> values() {
-        return raw().values();
+        return getValues(false);
     }
 
     @Override
     public @NotNull @UnmodifiableView Map<String, Object> asMap() {
-        return raw().asMap();
+        Views views = views();
+        if (views == null) return raw().asMap();
+
+        Map<String, Object> map = views.map;
+        if (map == null) views.map = map = AbstractMapSection.unmodifiableDeep(raw().asMap());
+        return map;
     }
 
     @Override
@@ -385,4 +460,20 @@ public class ImmutableSection implements ConfigureSection {
         return Objects.equals(raw, obj);
     }
 
+    private static final class Views {
+
+        private final long stamp;
+        private volatile @Nullable Map<String, Object> values;
+        private volatile @Nullable Map<String, Object> deepValues;
+        private volatile @Nullable Map<String, Object> map;
+        private volatile @Nullable Set<String> keys;
+        private volatile @Nullable Set<String> deepKeys;
+        private final Map<String, ImmutableSection> children = new ConcurrentHashMap<>();
+
+        private Views(long stamp) {
+            this.stamp = stamp;
+        }
+
+    }
+
 }
@@ -8,6 +8,14 @@ import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * Section kept in memory, which is not bound to any source.
+ * <p>
+ * As there is no holder to read options from, memory sections never honor
+ * {@link cc.carm.lib.configuration.source.option.StandardOptions#CONCURRENT_SECTIONS}
+ * and should be modified by one thread at a time.
+ * They are used as detached data, such as merged or copied views, which are not shared while being built.
+ */
 public class MemorySection extends AbstractMapSection<MemorySection> {
 
     public static MemorySection of() {
@@ -5,7 +5,14 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * A section that shades the values of a template section by the values of a source section.
+ * <br>The merged views and the wrappers of nested sections are cached,
+ * until the {@link ConfigureSection#stamp() stamp} of the template or the source changed.
+ * Sections that do not track modifications are merged on every read.
+ */
 public class ShadedSection implements ConfigureSection {
 
     public static ShadedSection create(@NotNull ConfigureSection template, @Nullable ConfigureSection source) {
@@ -16,6 +23,8 @@ public class ShadedSection implements ConfigureSection {
     protected @NotNull ConfigureSection template;
     protected @Nullable ConfigureSection source;
 
+    private volatile @Nullable Views views;
+
     public ShadedSection(@Nullable ShadedSection parent,
                          @NotNull ConfigureSection template, @Nullable ConfigureSection source) {
         this.parent = parent;
@@ -33,21 +42,43 @@ public class ShadedSection implements ConfigureSection {
         return this.template.path();
     }
 
+    /**
+     * @return The latest stamp of the template and the source, as stamps are taken from one increasing sequence,
+     * it changes whenever any of them modified, or -1 if any of them is not tracked.
+     */
+    @Override
+    public long stamp() {
+        long templateStamp = this.template.stamp();
+        ConfigureSection source = this.source;
+        long sourceStamp = source == null ? 0 : source.stamp();
+        if (templateStamp == -1 || sourceStamp == -1) return -1;
+        return Math.max(templateStamp, sourceStamp);
+    }
+
     @Override
     public @NotNull @UnmodifiableView Map<String, Object> getValues(boolean deep) {
         if (source == null) return template.getValues(deep);
         // 本函数为，当 getValues 时，递归合并 source 和 template
-        return merge(template, source).getValues(deep);
+        Views views = views();
+        if (views == null) return merge(template, source).getValues(deep);
+        return views.values(this, deep);
     }
 
     @Override
     public @NotNull @UnmodifiableView Map<String, Object> asMap() {
         if (source == null) return template.asMap();
-        return merge(template, source).asMap();
+        Views views = views();
+        if (views == null) return merge(template, source).asMap();
+        return views.map(this);
     }
 
     @Override
     public @NotNull @UnmodifiableView Set<String> getKeys(boolean deep) {
+        Views views = views();
+        return views == null ? collectKeys(deep) : views.keys(this, deep);
+    }
+
+    private @NotNull Set<String> collectKeys(boolean deep) {
         Set<String> keys = new HashSet<>(template.getKeys(deep));
         if (source != null) {
             keys.addAll(source.getKeys(deep));
@@ -55,6 +86,34 @@ public class ShadedSection implements ConfigureSection {
         return Collections.unmodifiableSet(keys);
     }
 
+    /**
+     * @return The merged section of template and source, cached if both of them are tracked.
+     */
+    protected @NotNull ConfigureSection merged() {
+        Views views = views();
+        if (views == null) return merge(template, Objects.requireNonNull(source));
+        return views.merged(this);
+    }
+
+    /**
+     * @return The cached views for current template and source, or null if any of them is not tracked.
+     */
+    protected @Nullable Views views() {
+        ConfigureSection template = this.template;
+        ConfigureSection source = this.source;
+        long templateStamp = template.stamp();
+        long sourceStamp = source == null ? 0 : source.stamp();
+        if (templateStamp == -1 || sourceStamp == -1) return null;
+
+        Views current = this.views;
+        if (current != null && current.validFor(template, source, templateStamp, sourceStamp)) return current;
+
+        // Stamps are read before building any view, so views built from newer data are outdated at worst.
+        Views created = new Views(template, source, templateStamp, sourceStamp);
+        this.views = created;
+        return created;
+    }
+
     private ConfigureSection merge(ConfigureSection templateSection, ConfigureSection valueSection) {
         MemorySection merged = MemorySection.of();
         Set<String> existingKey = new HashSet<>();
@@ -130,7 +189,7 @@ public class ShadedSection implements ConfigureSection {
             if (templateSection == null) {
                 return value;
             } else {
-                return new ShadedSection(this, templateSection, (ConfigureSection) value);
+                return wrap(path, templateSection, (ConfigureSection) value);
             }
         }
         return value;
@@ -139,13 +198,109 @@ public class ShadedSection implements ConfigureSection {
     public @Nullable Object getFromTemplate(@NotNull String path) {
         Object value = template.get(path);
         if (value instanceof ConfigureSection) {
-            return new ShadedSection(this, (ConfigureSection) value, null);
+            return wrap(path, (ConfigureSection) value, null);
         } else {
             return value;
         }
     }
 
+    /**
+     * Get the wrapper of a nested section, which is reused while the views are valid.
+     */
+    private @NotNull ShadedSection wrap(@NotNull String path,
+                                        @NotNull ConfigureSection template, @Nullable ConfigureSection source) {
+        Views views = views();
+        if (views == null) return new ShadedSection(this, template, source);
+
+        Map<String, ShadedSection> children = source == null ? views.templateChildren : views.children;
+        ShadedSection cached = children.get(path);
+        if (cached != null && cached.template == template && cached.source == source) return cached;
+
+        ShadedSection created = new ShadedSection(this, template, source);
+        children.put(path, created);
+        return created;
+    }
+
     public @Nullable ConfigureSection getSource() {
         return source;
     }
+
+    protected static final class Views {
+
+        private final @NotNull ConfigureSection template;
+        private final @Nullable ConfigureSection source;
+        private final long templateStamp;
+        private final long sourceStamp;
+
+        private volatile @Nullable ConfigureSection merged;
+        private volatile @Nullable Map<String, Object> map;
+        private volatile @Nullable Map<String, Object> values;
+        private volatile @Nullable Map<String, Object> deepValues;
+        private volatile @Nullable Set<String> keys;
+        private volatile @Nullable Set<String> deepKeys;
+        private final Map<String, ShadedSection> children = new ConcurrentHashMap<>();
+        private final Map<String, ShadedSection> templateChildren = new ConcurrentHashMap<>();
+
+        private Views(@NotNull ConfigureSection template, @Nullable ConfigureSection source,
+                      long templateStamp, long sourceStamp) {
+            this.template = template;
+            this.source = source;
+            this.templateStamp = templateStamp;
+            this.sourceStamp = sourceStamp;
+        }
+
+        private boolean validFor(@NotNull ConfigureSection template, @Nullable ConfigureSection source,
+                                 long templateStamp, long sourceStamp) {
+            return this.template == template && this.source == source
+                && this.templateStamp == templateStamp && this.sourceStamp == sourceStamp;
+        }
+
+        // Views are built at most once under the lock, and published by the volatile fields.
+
+        private @NotNull ConfigureSection merged(@NotNull ShadedSection section) {
+            ConfigureSection merged = this.merged;
+            if (merged != null) return merged;
+            synchronized (this) {
+                if (this.merged == null) this.merged = section.merge(this.template, Objects.requireNonNull(this.source));
+                return this.merged;
+            }
+        }
+
+        private @NotNull Map<String, Object> map(@NotNull ShadedSection section) {
+            Map<String, Object> map = this.map;
+            if (map != null) return map;
+            synchronized (this) {
+                if (this.map == null) this.map = AbstractMapSection.unmodifiableDeep(merged(section).asMap());
+                return this.map;
+            }
+        }
+
+        private @NotNull Map<String, Object> values(@NotNull ShadedSection section, boolean deep) {
+            Map<String, Object> values = deep ? this.deepValues : this.values;
+            if (values != null) return values;
+            synchronized (this) {
+                values = deep ? this.deepValues : this.values;
+                if (values != null) return values;
+                values = Collections.unmodifiableMap(new LinkedHashMap<>(merged(section).getValues(deep)));
+                if (deep) this.deepValues = values;
+                else this.values = values;
+                return values;
+            }
+        }
+
+        private @NotNull Set<String> keys(@NotNull ShadedSection section, boolean deep) {
+            Set<String> keys = deep ? this.deepKeys : this.keys;
+            if (keys != null) return keys;
+            synchronized (this) {
+                keys = deep ? this.deepKeys : this.keys;
+                if (keys != null) return keys;
+                keys = section.collectKeys(deep);
+                if (deep) this.deepKeys = keys;
+                else this.keys = keys;
+                return keys;
+            }
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package cc.carm.lib.configuration.source.section;
 
+import cc.carm.lib.configuration.source.option.StandardOptions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,7 +22,7 @@ public class SourcedSection extends AbstractMapSection<SourcedSection> {
 
     public SourcedSection(@NotNull ConfigureSource<? extends SourcedSection, ?, ?> source,
                           @NotNull Map<?, ?> raw, @Nullable SourcedSection parent, @NotNull String path) {
-        super(parent, path);
+        super(parent, path, createData(concurrent(source)));
         this.source = source;
         migrate(raw);
     }
@@ -30,6 +31,20 @@ public class SourcedSection extends AbstractMapSection<SourcedSection> {
         return source;
     }
 
+    @Override
+    protected boolean lazyMigration() {
+        return source().holder().options().get(StandardOptions.LAZY_SECTIONS);
+    }
+
+    @Override
+    protected boolean concurrent() {
+        return concurrent(source());
+    }
+
+    private static boolean concurrent(@NotNull ConfigureSource<?, ?, ?> source) {
+        return source.holder().options().get(StandardOptions.CONCURRENT_SECTIONS);
+    }
+
     @Override
     public char pathSeparator() {
         return source().pathSeparator();
@@ -0,0 +1,210 @@
+package test.section;
+
+import cc.carm.lib.configuration.source.section.ConfigureSection;
+import cc.carm.lib.configuration.source.section.ImmutableSection;
+import cc.carm.lib.configuration.source.section.MemorySection;
+import cc.carm.lib.configuration.source.section.SectionPath;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class LookupBenchmarkTest {
+
+    static final int ROUNDS = 100_000;
+    /**
+     * Bytes allowed to be allocated by the measurement itself, independent of {@link #ROUNDS}.
+     */
+    static final long MEASURE_SLACK = 1024;
+
+    @Test
+    public void readsNeverCreateSections() {
+        MemorySection section = MemorySection.of(data -> data.put("exists", 1));
+
+        Assert.assertNull(section.get("a.b.c"));
+        Assert.assertFalse(section.contains("a.b.c"));
+        Assert.assertFalse(section.isSection("a.b"));
+        section.remove("x.y.z");
+
+        Assert.assertEquals(1, section.size(true));
+        Assert.assertFalse(section.contains("a"));
+        Assert.assertFalse(section.contains("x"));
+
+        section.set("a.b.c", 1);
+        Assert.assertTrue(section.isSection("a.b"));
+        Assert.assertEquals(1, section.get("a.b.c"));
+    }
+
+    @Test
+    public void missingPathAllocations() {
+        MemorySection section = MemorySection.of(data -> data.put("exists", 1));
+        SectionPath compiled = SectionPath.of("a.b.c", section.pathSeparator());
+
+        long allocated = measure(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                if (compiled.get(section) != null) throw new IllegalStateException();
+            }
+        });
+
+        long plain = measure(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                if (section.get("a.b.c") != null) throw new IllegalStateException();
+                if (section.contains("a.b.c") || section.isSection("a.b")) throw new IllegalStateException();
+            }
+        });
+
+        Assert.assertEquals(1, section.size(true));
+        if (allocated >= 0) { // -1 if the JVM does not support allocation measurement.
+            Assert.assertTrue("Compiled reads should not allocate, but allocated " + allocated + " bytes.", allocated <= MEASURE_SLACK);
+            Assert.assertTrue("String reads should not allocate, but allocated " + plain + " bytes.", plain <= MEASURE_SLACK);
+        }
+    }
+
+    @Test
+    public void primitiveGetters() {
+        MemorySection section = MemorySection.of(data -> {
+            data.put("int", 5);
+            data.put("double", 0.5D);
+            data.put("flag", true);
+            data.put("table", Arrays.asList(1, 2.5D, "x", 3L));
+        });
+
+        Assert.assertEquals(5, section.getIntValue("int", 0));
+        Assert.assertEquals(7L, section.getLongValue("absent", 7L));
+        Assert.assertEquals(0.5D, section.getDoubleValue("double", 0D), 0D);
+        Assert.assertTrue(section.getBooleanValue("flag", false));
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, section.getIntArray("table"));
+        Assert.assertArrayEquals(new double[]{1D, 2.5D, 3D}, section.getDoubleArray("table"), 0D);
+        Assert.assertArrayEquals(new long[0], section.getLongArray("absent"));
+
+        long allocated = measure(() -> {
+            long sum = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                sum += section.getIntValue("int", 0) + (long) section.getDoubleValue("double", 0D);
+            }
+            if (sum != 5L * ROUNDS) throw new IllegalStateException();
+        });
+        if (allocated >= 0) {
+            Assert.assertTrue("Primitive getters should not allocate, but allocated " + allocated + " bytes.", allocated <= MEASURE_SLACK);
+        }
+    }
+
+    @Test
+    public void frozenSections() {
+        MemorySection section = MemorySection.of(data -> {
+            for (int i = 0; i < 20; i++) data.put("key" + i, i);
+            data.put("nested", Collections.singletonMap("value", "a"));
+            data.put("list", Arrays.asList(Collections.singletonMap("id", 1), "plain"));
+        });
+        Map<String, Object> before = section.asMap();
+
+        section.freeze();
+        Assert.assertTrue(section.isFrozen());
+        Assert.assertTrue(((MemorySection) section.getSection("nested")).isFrozen());
+        Assert.assertEquals(before, section.asMap());
+        Assert.assertEquals(19, section.get("key19"));
+        Assert.assertEquals("a", section.get("nested.value"));
+        Assert.assertNull(section.get("key20"));
+        Assert.assertEquals(22, section.getKeys(false).size());
+
+        section.remove("absent"); // Nothing changed, keep frozen.
+        Assert.assertTrue(section.isFrozen());
+
+        section.set("nested.value", "b");
+        Assert.assertFalse("Modified sections should be mutable again.", ((MemorySection) section.getSection("nested")).isFrozen());
+        Assert.assertTrue("Sections not modified should be kept frozen.", section.isFrozen());
+        Assert.assertEquals("b", section.get("nested.value"));
+
+        section.set("key20", 20);
+        Assert.assertFalse(section.isFrozen());
+        Assert.assertEquals(20, section.get("key20"));
+        Assert.assertEquals(23, section.getKeys(false).size());
+    }
+
+    @Test
+    public void deepViews() {
+        MemorySection section = MemorySection.of(data -> {
+            Map<String, Object> b = new LinkedHashMap<>();
+            b.put("c", 1);
+            b.put("d", Collections.singletonMap("e", 2));
+            b.put("f", 3);
+            data.put("a", b);
+            data.put("g", 4);
+            for (int i = 0; i < 100; i++) data.put("key" + i, Collections.singletonMap("value", i));
+        });
+
+        List<String> keys = new ArrayList<>(section.getKeys(true));
+        Assert.assertEquals(Arrays.asList("a", "a.c", "a.d", "a.d.e", "a.f", "g", "key0", "key0.value"), keys.subList(0, 8));
+        Assert.assertEquals(206, section.size(true));
+        Assert.assertEquals(2, section.getValues(true).get("a.d.e"));
+        Assert.assertTrue(section.getKeys(true).contains("key99.value"));
+        Assert.assertFalse(section.getKeys(true).contains("key99.absent"));
+
+        Assert.assertEquals(206, section.stream(true).parallel().count());
+        Assert.assertEquals(keys, section.stream(true).parallel().map(Map.Entry::getKey).collect(Collectors.toList()));
+        Assert.assertEquals(4950, section.stream(true).parallel()
+                .filter(entry -> entry.getValue() instanceof Integer && entry.getKey().endsWith(".value"))
+                .mapToInt(entry -> (Integer) entry.getValue()).sum());
+
+        // A single large child section is still split by its children.
+        MemorySection single = MemorySection.of(data -> data.put("root", section.asMap()));
+        List<String> singleKeys = new ArrayList<>(single.getKeys(true));
+        Assert.assertNotNull(single.viewValues(true).entrySet().spliterator().trySplit());
+        Assert.assertEquals(207, single.stream(true).parallel().count());
+        Assert.assertEquals(singleKeys, single.stream(true).parallel().map(Map.Entry::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void immutableViews() {
+        MemorySection raw = MemorySection.of(data -> {
+            data.put("name", "a");
+            data.put("nested", Collections.singletonMap("inner", Collections.singletonMap("value", 1)));
+        });
+        ImmutableSection section = ImmutableSection.of(raw);
+
+        Assert.assertSame(section.get("nested"), section.getSection("nested"));
+        Assert.assertSame(section.getSection("nested.inner"), section.getSection("nested.inner"));
+        Assert.assertSame(section.asMap(), section.asMap());
+        Assert.assertNull(section.getSection("absent"));
+        try { // The cached map is shared, so nested levels must be read-only too.
+            ((Map<String, Object>) section.asMap().get("nested")).put("added", 1);
+            Assert.fail("Nested maps of immutable sections should be read-only.");
+        } catch (UnsupportedOperationException ignored) {
+        }
+
+        long allocated = measure(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                if (section.getSection("nested").getValues(false).isEmpty()) throw new IllegalStateException();
+                if (section.asMap().isEmpty()) throw new IllegalStateException();
+            }
+        });
+        if (allocated >= 0) {
+            Assert.assertTrue("Immutable reads should not allocate, but allocated " + allocated + " bytes.", allocated <= MEASURE_SLACK);
+        }
+
+        Map<String, Object> before = section.asMap();
+        ConfigureSection nested = section.getSection("nested");
+        raw.set("nested", Collections.singletonMap("replaced", true));
+        Assert.assertNotSame(before, section.asMap());
+        Assert.assertNotSame(nested, section.getSection("nested"));
+        Assert.assertEquals(true, section.get("nested.replaced"));
+    }
+
+    static long measure(Runnable task) {
+        task.run(); // Warm up
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return -1;
+
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        task.run();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+}
@@ -3,9 +3,11 @@ package test.section;
 import cc.carm.lib.configuration.source.section.ConfigureSection;
 import cc.carm.lib.configuration.source.section.MemorySection;
 import cc.carm.lib.configuration.source.section.ShadedSection;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -74,4 +76,47 @@ public class ShadeTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cachedViews() {
+        ConfigureSection template = MemorySection.of(data -> {
+            data.put("name", "GentleMan");
+            data.put("addresses", Collections.singletonMap("Hotel", "Nanjing Road 101"));
+        });
+        ConfigureSection source = MemorySection.of(data -> {
+            data.put("name", "Lady");
+            data.put("addresses", Collections.singletonMap("Store", "Beijing Road 404"));
+        });
+        ShadedSection root = ShadedSection.create(template, source);
+
+        Map<String, Object> map = root.asMap();
+        Assert.assertSame("Views should be reused while nothing changed.", map, root.asMap());
+        Assert.assertSame(root.getKeys(true), root.getKeys(true));
+        Assert.assertSame(root.getValues(true), root.getValues(true));
+        Assert.assertSame(root.get("addresses"), root.get("addresses"));
+        try { // The cached map is shared, so nested levels must be read-only too.
+            ((Map<String, Object>) map.get("addresses")).put("Office", "Shanghai Road 1");
+            Assert.fail("Nested maps of shaded sections should be read-only.");
+        } catch (UnsupportedOperationException ignored) {
+        }
+        long stamp = root.stamp();
+        Assert.assertEquals(stamp, root.stamp());
+
+        ConfigureSection addresses = root.getSection("addresses");
+        Assert.assertEquals("Nanjing Road 101", addresses.get("Hotel"));
+        Assert.assertEquals("Beijing Road 404", addresses.get("Store"));
+
+        source.set("addresses.Store", "Beijing Road banned");
+        Assert.assertNotEquals(stamp, root.stamp());
+        Assert.assertNotSame(map, root.asMap());
+        Assert.assertEquals("Beijing Road banned", root.get("addresses.Store"));
+
+        template.set("age", 12);
+        Assert.assertEquals(12, root.getValues(false).get("age"));
+        Assert.assertTrue(root.getKeys(true).contains("age"));
+
+        source.remove("name");
+        Assert.assertEquals("GentleMan", root.asMap().get("name"));
+    }
+
 }
@@ -24,7 +24,6 @@ public class JSONSource extends FileConfigSource<SourcedSection, Map<String, Obj
         ).create();
 
     protected final @NotNull Gson gson;
-    protected @Nullable SourcedSection rootSection;
 
     protected JSONSource(@NotNull ConfigurationHolder<? extends JSONSource> holder,
                          @NotNull File file, @Nullable String resourcePath) {
@@ -59,7 +58,7 @@ public class JSONSource extends FileConfigSource<SourcedSection, Map<String, Obj
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(this.rootSection, "Root section is not initialized");
+        return Objects.requireNonNull(published(), "Root section is not initialized");
     }
 
     @Override
@@ -70,8 +69,7 @@ public class JSONSource extends FileConfigSource<SourcedSection, Map<String, Obj
     @Override
     protected void onReload() throws Exception {
         Map<?, ?> data = fileReader(reader -> gson.fromJson(reader, LinkedHashMap.class));
-        this.rootSection = SourcedSection.root(this, data);
-        this.lastUpdateMillis = System.currentTimeMillis(); // 更新时间
+        publish(SourcedSection.root(this, data)); // 同时更新时间
     }
 
     @Override
@@ -0,0 +1,102 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.Configuration;
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.json.JSONConfigFactory;
+import cc.carm.lib.configuration.source.json.JSONSource;
+import cc.carm.lib.configuration.source.section.SourcedSection;
+import cc.carm.lib.configuration.value.standard.ConfiguredValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReloadTest {
+
+    static final AtomicInteger NAME_PARSED = new AtomicInteger();
+    static final AtomicInteger AGE_PARSED = new AtomicInteger();
+
+    public static class Profile implements Configuration {
+
+        final ConfiguredValue<String> name = ConfiguredValue.builderOf(String.class).fromString()
+            .parse(data -> {
+                NAME_PARSED.incrementAndGet();
+                return data;
+            }).defaults("Carm").build();
+
+        final ConfiguredValue<Integer> age = ConfiguredValue.builderOf(Integer.class).from(Number.class)
+            .parse(data -> {
+                AGE_PARSED.incrementAndGet();
+                return data.intValue();
+            }).defaults(18).build();
+
+    }
+
+    @Test
+    public void onlyChangedPaths() throws Exception {
+        File file = new File("target", "reload.json");
+        Files.write(file.toPath(), "{\"profile\": {\"name\": \"Carm\", \"age\": 18}}".getBytes(StandardCharsets.UTF_8));
+
+        ConfigurationHolder<JSONSource> holder = JSONConfigFactory.from(file).build();
+        Profile profile = new Profile();
+        holder.initialize(profile);
+
+        Assert.assertEquals("Carm", profile.name.get());
+        Assert.assertEquals(Integer.valueOf(18), profile.age.get());
+        int nameParsed = NAME_PARSED.get();
+        int ageParsed = AGE_PARSED.get();
+
+        Files.write(file.toPath(), "{\"profile\": {\"name\": \"Carm\", \"age\": 20}}".getBytes(StandardCharsets.UTF_8));
+        holder.reload();
+
+        Assert.assertEquals("Carm", profile.name.get());
+        Assert.assertEquals(Integer.valueOf(20), profile.age.get());
+        Assert.assertEquals("Unchanged value should not be parsed again.", nameParsed, NAME_PARSED.get());
+        Assert.assertEquals("Changed value should be parsed again.", ageParsed + 1, AGE_PARSED.get());
+    }
+
+    @Test
+    public void publishWholeRoot() throws Exception {
+        File file = new File("target", "reload-publish.json");
+        Files.write(file.toPath(), "{\"profile\": {\"name\": \"Carm\", \"age\": 0}}".getBytes(StandardCharsets.UTF_8));
+
+        ConfigurationHolder<JSONSource> holder = JSONConfigFactory.from(file).build();
+        Profile profile = new Profile();
+        holder.initialize(profile);
+        JSONSource source = holder.config();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) profile.age.get();
+        });
+        reader.start();
+        try {
+            for (int i = 1; i <= 50; i++) {
+                Files.write(file.toPath(), ("{\"profile\": {\"name\": \"Carm\", \"age\": " + i + "}}").getBytes(StandardCharsets.UTF_8));
+                long generation = source.generation();
+                holder.reload();
+                Assert.assertEquals(generation + 1, source.generation());
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+        Assert.assertEquals("Readers should never keep a value of an outdated root.", Integer.valueOf(50), profile.age.get());
+
+        // A failed reload publishes nothing.
+        SourcedSection root = source.section();
+        long generation = source.generation();
+        long updated = source.getLastUpdateMillis();
+        Files.write(file.toPath(), "{\"profile\": ".getBytes(StandardCharsets.UTF_8));
+        Assert.assertThrows(Exception.class, holder::reload);
+        Assert.assertSame(root, source.section());
+        Assert.assertEquals(generation, source.generation());
+        Assert.assertEquals(updated, source.getLastUpdateMillis());
+        Assert.assertEquals(Integer.valueOf(50), profile.age.get());
+    }
+
+}
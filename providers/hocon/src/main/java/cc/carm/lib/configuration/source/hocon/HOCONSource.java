@@ -16,7 +16,6 @@ import java.util.Objects;
 
 public class HOCONSource
     extends FileConfigSource<SourcedSection, Map<String, Object>, HOCONSource> {
-    protected @Nullable SourcedSection rootSection;
 
     protected HOCONSource(
         @NotNull ConfigurationHolder<? extends HOCONSource> holder,
@@ -49,7 +48,7 @@ public class HOCONSource
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(this.rootSection, "Root section is not initialized.");
+        return Objects.requireNonNull(published(), "Root section is not initialized.");
     }
 
     public @NotNull String saveToString() {
@@ -93,7 +92,7 @@ public class HOCONSource
 
     @Override
     protected void onReload() throws Exception {
-        this.rootSection = this.fileReadString(this::loadFromString);
+        this.publish(this.fileReadString(this::loadFromString));
     }
 
     protected @NotNull SourcedSection loadFromString(@NotNull String data) {
@@ -16,8 +16,6 @@ public class MongoSource extends ConfigureSource<SourcedSection, Map<String, Obj
     protected final @NotNull MongoCollection<Document> collection;
     protected final @NotNull String namespace;
 
-    protected SourcedSection rootSection;
-
     protected MongoSource(@NotNull ConfigurationHolder<? extends MongoSource> holder, long lastUpdateMillis,
                           @NotNull MongoCollection<Document> collection, @NotNull String namespace) {
         super(holder, lastUpdateMillis);
@@ -42,7 +40,7 @@ public class MongoSource extends ConfigureSource<SourcedSection, Map<String, Obj
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(rootSection, "RootSection is not initialized");
+        return Objects.requireNonNull(published(), "RootSection is not initialized");
     }
 
     public @NotNull String namespace() {
@@ -55,7 +53,7 @@ public class MongoSource extends ConfigureSource<SourcedSection, Map<String, Obj
 
     @Override
     public void save() throws Exception {
-        Map<String, Object> data = this.rootSection.asMap();
+        Map<String, Object> data = section().asMap();
         if (data.isEmpty()) return; // Skip saving if empty
         if (data.containsKey("_id") && data.size() == 1) return; // Skip saving if only contains _id
 
@@ -69,7 +67,7 @@ public class MongoSource extends ConfigureSource<SourcedSection, Map<String, Obj
         Document storage = this.collection.find(new Document("_id", this.namespace)).first();
         if (storage == null) storage = new Document();
         else storage.remove("_id"); // Remove _id
-        this.rootSection = SourcedSection.root(this, storage);
+        publish(SourcedSection.root(this, storage));
     }
 
 
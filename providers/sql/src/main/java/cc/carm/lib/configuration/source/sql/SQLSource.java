@@ -25,7 +25,6 @@ public class SQLSource extends ConfigureSource<SourcedSection, Map<String, Objec
     protected final @NotNull SQLTable table;
 
     protected final @NotNull Map<Integer, SQLValueResolver<?>> resolvers;
-    protected SourcedSection rootSection;
 
     public SQLSource(@NotNull ConfigurationHolder<? extends SQLSource> holder, long lastUpdateMillis,
                      @NotNull Gson gson, @NotNull SQLManager sqlManager,
@@ -62,7 +61,7 @@ public class SQLSource extends ConfigureSource<SourcedSection, Map<String, Objec
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(this.rootSection, "Root section is not initialized.");
+        return Objects.requireNonNull(published(), "Root section is not initialized.");
     }
 
     public int purge() throws Exception {
@@ -127,6 +126,7 @@ public class SQLSource extends ConfigureSource<SourcedSection, Map<String, Objec
     @Override
     protected void onReload() throws Exception {
         Map<String, Object> loaded = new LinkedHashMap<>();
+        Map<String, Integer> versions = new LinkedHashMap<>();
         try (SQLQuery query = this.table.createQuery()
             .addCondition("namespace", namespace)
             .build().execute()) {
@@ -137,13 +137,17 @@ public class SQLSource extends ConfigureSource<SourcedSection, Map<String, Objec
                 int ver = rs.getInt("version");
                 try {
                     loaded.put(path, parse(rs.getInt("type"), rs.getString("value")));
-                    if (ver != 0) holder().metadata(path).set(VersionedMetaTypes.VERSION, ver);
+                    if (ver != 0) versions.put(path, ver);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
             }
         }
-        this.rootSection = SourcedSection.root(this, loaded);
+        publish(SourcedSection.root(this, loaded));
+
+        // Only touch the metadata after the root published, so a failed reload changes nothing,
+        // and versions are never ahead of the data they describe.
+        versions.forEach((path, ver) -> holder().metadata(path).set(VersionedMetaTypes.VERSION, ver));
     }
 
 
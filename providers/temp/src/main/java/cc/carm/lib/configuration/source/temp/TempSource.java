@@ -10,13 +10,10 @@ import java.util.Objects;
 
 public class TempSource extends ConfigureSource<SourcedSection, Map<String, Object>, TempSource> {
 
-
-    protected @NotNull SourcedSection rootSection;
-
     protected TempSource(@NotNull ConfigurationHolder<? extends TempSource> holder,
                          @NotNull Map<String, Object> defaults) {
         super(holder, 0);
-        this.rootSection = SourcedSection.root(this, defaults);
+        publish(SourcedSection.root(this, defaults));
     }
 
     @Override
@@ -31,7 +28,7 @@ public class TempSource extends ConfigureSource<SourcedSection, Map<String, Obje
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(this.rootSection, "Root section is not initialized.");
+        return Objects.requireNonNull(published(), "Root section is not initialized.");
     }
 
     @Override
@@ -0,0 +1,54 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.adapter.ValueAdapter;
+import cc.carm.lib.configuration.adapter.ValueParser;
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.ValueManifest;
+import cc.carm.lib.configuration.value.standard.ConfiguredValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static cc.carm.lib.configuration.tests.TempFixtures.bind;
+import static cc.carm.lib.configuration.tests.TempFixtures.holder;
+
+public class AdapterBindingTest {
+
+    static final class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static ValueParser<Point> parser(boolean swapped) {
+        return (holder, type, data) -> {
+            List<?> list = (List<?>) data;
+            int x = ((Number) list.get(0)).intValue();
+            int y = ((Number) list.get(1)).intValue();
+            return swapped ? new Point(y, x) : new Point(x, y);
+        };
+    }
+
+    @Test
+    public void rebindAdapters() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("point", Arrays.asList(1, 2));
+        holder.adapters().register(Point.class, parser(false));
+
+        // Value without its own parser, which uses the registered adapter.
+        ValueType<Point> type = ValueType.of(Point.class);
+        ConfiguredValue<Point> value = bind(holder, "point", ConfiguredValue.of(new ValueManifest<>(type), new ValueAdapter<>(type)));
+        Assert.assertEquals(1, value.getNotNull().x);
+
+        holder.adapters().register(Point.class, parser(true));
+        Assert.assertEquals("Values should be parsed again after the registry changed.", 2, value.getNotNull().x);
+    }
+
+}
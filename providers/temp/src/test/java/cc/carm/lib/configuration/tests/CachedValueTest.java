@@ -0,0 +1,230 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.section.ConfigureSection;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.standard.ConfiguredList;
+import cc.carm.lib.configuration.value.standard.ConfiguredMap;
+import cc.carm.lib.configuration.value.standard.ConfiguredValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static cc.carm.lib.configuration.tests.TempFixtures.bind;
+import static cc.carm.lib.configuration.tests.TempFixtures.holder;
+
+public class CachedValueTest {
+
+    static final int THREADS = 32;
+    static final int ROUNDS = 20_000;
+
+    @Test
+    public void parseOnce() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("value", "123");
+
+        AtomicInteger parsed = new AtomicInteger();
+        ConfiguredValue<Integer> value = bind(holder, "value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> {
+                parsed.incrementAndGet();
+                Thread.sleep(5); // Make the parsing slow to let readers race on it.
+                return Integer.parseInt(data);
+            }).build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return value.get();
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            Assert.assertEquals(Integer.valueOf(123), result.get());
+        }
+        executor.shutdown();
+
+        Assert.assertEquals("Value should be parsed only once for the same source.", 1, parsed.get());
+    }
+
+    @Test
+    public void concurrentReload() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("value", "0");
+        ConfiguredValue<Integer> value = bind(holder, "value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger written = new AtomicInteger();
+
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    Integer current = value.get();
+                    Assert.assertNotNull(current);
+                    Assert.assertTrue(current <= written.get());
+                }
+                return null;
+            }));
+        }
+
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 1; i <= ROUNDS; i++) {
+                written.set(i);
+                holder.config().set("value", String.valueOf(i));
+                holder.reload();
+            }
+            return null;
+        });
+
+        writer.get();
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(); // Rethrow assertion errors from readers
+        }
+        executor.shutdown();
+
+        Assert.assertEquals("Value should be fresh after the last reload.", Integer.valueOf(ROUNDS), value.get());
+    }
+
+    @Test
+    public void generation() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("value", "1");
+        ConfiguredValue<Integer> value = bind(holder, "value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).build());
+
+        for (int i = 1; i <= 100; i++) {
+            long generation = holder.config().generation();
+            holder.config().set("value", String.valueOf(i));
+            holder.reload(); // Reloads in the same millisecond should also be distinguished
+            Assert.assertTrue(holder.config().generation() > generation);
+            Assert.assertEquals(Integer.valueOf(i), value.get());
+        }
+
+        long generation = holder.config().generation();
+        value.set(12345);
+        Assert.assertEquals("Setting an existing leaf should not be structural.", generation, holder.config().generation());
+        Assert.assertEquals(Integer.valueOf(12345), value.get());
+
+        holder.config().set("section.value", "1");
+        Assert.assertEquals("Creating new paths is tracked by stamps.", generation, holder.config().generation());
+        holder.config().set("value", "2");
+        Assert.assertEquals(Integer.valueOf(2), value.get());
+    }
+
+    @Test
+    public void negativeCache() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("invalid", "not-a-number");
+
+        AtomicInteger errors = new AtomicInteger();
+        holder.exceptionally((path, e) -> errors.incrementAndGet());
+
+        AtomicInteger parsed = new AtomicInteger();
+        ConfiguredValue<Integer> invalid = bind(holder, "invalid", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> {
+                parsed.incrementAndGet();
+                return Integer.parseInt(data);
+            }).defaults(-1).build());
+        ConfiguredValue<Integer> absent = bind(holder, "absent", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).defaults(-2).build());
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(-1), invalid.get());
+            Assert.assertEquals(Integer.valueOf(-2), absent.get());
+        }
+        Assert.assertEquals("Invalid value should be parsed once for each version.", 1, parsed.get());
+        Assert.assertEquals("Errors should be reported once for each version.", 1, errors.get());
+        Assert.assertTrue(invalid.snapshot().isFailed());
+        Assert.assertFalse(absent.snapshot().isPresent());
+
+        holder.reload();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(-1), invalid.get());
+        }
+        Assert.assertEquals(2, parsed.get());
+        Assert.assertEquals(2, errors.get());
+    }
+
+    @Test
+    public void negativeCacheOfCollections() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder(data -> {
+            data.put("numbers", Arrays.asList("1", "invalid", "3"));
+            Map<String, Object> prices = new LinkedHashMap<>();
+            prices.put("a", "1");
+            prices.put("b", "invalid");
+            data.put("prices", prices);
+        });
+
+        AtomicInteger errors = new AtomicInteger();
+        holder.exceptionally((path, e) -> errors.incrementAndGet());
+
+        AtomicInteger parsed = new AtomicInteger();
+        ConfiguredList<Integer> list = bind(holder, "numbers", ConfiguredList.builderOf(Integer.class).fromString()
+            .parse(data -> {
+                parsed.incrementAndGet();
+                return Integer.parseInt(data);
+            }).build());
+        ConfiguredMap<String, Integer> map = bind(holder, "prices", ConfiguredMap.builderOf(String.class, Integer.class)
+            .asLinkedMap().fromString()
+            .parse(data -> {
+                parsed.incrementAndGet();
+                return Integer.parseInt(data);
+            }).build());
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Arrays.asList(1, 3), list.get());
+            Assert.assertEquals(Collections.singletonMap("a", 1), map.get());
+        }
+        Assert.assertEquals("Invalid elements should be parsed once for each version.", 5, parsed.get());
+        Assert.assertEquals("Errors should be reported once for each version.", 2, errors.get());
+        Assert.assertTrue(list.snapshot().isPresent() && list.snapshot().isFailed());
+        Assert.assertTrue(map.snapshot().isPresent() && map.snapshot().isFailed());
+    }
+
+    @Test
+    public void overwrites() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder(data -> data.put("outer", Collections.singletonMap("inner", Collections.singletonMap("value", "1"))));
+        ConfiguredValue<Integer> first = bind(holder, "outer.inner.value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).serialize(String::valueOf).build());
+        ConfiguredValue<Integer> second = bind(holder, "outer.inner.value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).build());
+        Assert.assertEquals(Integer.valueOf(1), second.get());
+
+        first.set(2);
+        Assert.assertEquals("Overwrites by other values should be visible.", Integer.valueOf(2), second.get());
+
+        holder.config().set("outer.inner.value", "3");
+        Assert.assertEquals(Integer.valueOf(3), first.get());
+        Assert.assertEquals(Integer.valueOf(3), second.get());
+
+        // Replace the parent section through a child section, the generation of source is not changed.
+        ConfigureSection outer = Objects.requireNonNull(holder.config().getSection("outer"));
+        outer.set("inner", Collections.singletonMap("value", "4"));
+        Assert.assertEquals(Integer.valueOf(4), first.get());
+        Assert.assertEquals(Integer.valueOf(4), second.get());
+    }
+
+    @Test
+    public void rejectedWrite() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("value", "1");
+        AtomicInteger errors = new AtomicInteger();
+        holder.exceptionally((path, e) -> errors.incrementAndGet());
+
+        ConfiguredValue<Integer> value = bind(holder, "value", ConfiguredValue.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).serialize(String::valueOf)
+            .validate(v -> v > 0, "Must be positive").build());
+        Assert.assertEquals(Integer.valueOf(1), value.get());
+
+        value.set(-1);
+        Assert.assertEquals(1, errors.get());
+        Assert.assertEquals("Rejected values should never be cached.", Integer.valueOf(1), value.get());
+        Assert.assertEquals("1", holder.config().get("value"));
+    }
+
+}
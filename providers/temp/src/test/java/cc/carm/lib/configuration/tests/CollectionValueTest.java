@@ -0,0 +1,128 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.standard.ConfiguredList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static cc.carm.lib.configuration.tests.TempFixtures.bind;
+import static cc.carm.lib.configuration.tests.TempFixtures.holder;
+
+public class CollectionValueTest {
+
+    static ConfiguredList<Integer> numbers() {
+        return ConfiguredList.builderOf(Integer.class).fromString()
+            .parse(data -> Integer.parseInt(data)).serialize(String::valueOf).build();
+    }
+
+    @Test
+    public void deltaMutation() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("numbers", Collections.unmodifiableList(Arrays.asList("1", "2")));
+        ConfiguredList<Integer> value = bind(holder, "numbers", numbers());
+
+        long generation = holder.config().generation();
+        value.add(3);
+        value.add(0, 0);
+        value.set(1, 10);
+        value.remove(Integer.valueOf(2));
+        Assert.assertEquals(Arrays.asList(0, 10, 3), value.get());
+        Assert.assertEquals(Arrays.asList("0", "10", "3"), holder.config().getList("numbers"));
+
+        // Changes are applied in place, views handed out before are never modified.
+        List<Integer> view = value.view();
+        long stamp = holder.config().stamp();
+        value.remove(0);
+        value.addAll(Arrays.asList(4, 5));
+        Assert.assertEquals(Arrays.asList(0, 10, 3), view);
+        Assert.assertEquals(Arrays.asList(10, 3, 4, 5), value.get());
+        Assert.assertEquals(Arrays.asList("10", "3", "4", "5"), holder.config().getList("numbers"));
+        Assert.assertNotEquals("Changes should be written through the section.", stamp, holder.config().stamp());
+        Assert.assertEquals(generation, holder.config().generation());
+
+        value.removeIf(number -> number == 4 || number == 5);
+        value.sort(null);
+        Assert.assertEquals(Arrays.asList(3, 10), value.get());
+        Assert.assertEquals(Arrays.asList("3", "10"), holder.config().getList("numbers"));
+
+        holder.reload();
+        Assert.assertEquals(Arrays.asList(3, 10), value.get());
+        value.clear();
+        Assert.assertTrue(value.isEmpty());
+        Assert.assertEquals(Collections.emptyList(), holder.config().getList("numbers"));
+    }
+
+    @Test
+    public void views() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("numbers", Arrays.asList("1", "2"));
+        ConfiguredList<Integer> value = bind(holder, "numbers", numbers());
+
+        List<Integer> view = value.view();
+        Assert.assertEquals(Arrays.asList(1, 2), view);
+        Assert.assertSame("Views should be shared until the value changed.", view, value.view());
+        try {
+            view.add(3);
+            Assert.fail("Views should be immutable.");
+        } catch (UnsupportedOperationException ignored) {
+        }
+
+        value.add(3);
+        Assert.assertEquals("Views should never change.", Arrays.asList(1, 2), view);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), value.view());
+
+        holder.config().set("numbers", Arrays.asList("4"));
+        holder.reload();
+        Assert.assertEquals(Collections.singletonList(4), value.view());
+
+        // Views are kept for each cached snapshot, modifying the cached list never leaks into them.
+        value.get().add(5);
+        Assert.assertEquals(Collections.singletonList(4), value.view());
+    }
+
+    @Test
+    public void deltaCost() {
+        long small = deltaAllocation(1_000);
+        long large = deltaAllocation(50_000);
+        if (small < 0 || large < 0) return; // The JVM does not support allocation measurement.
+        Assert.assertTrue(
+            "Single element changes should not cost more for larger lists, but allocated "
+                + small + " bytes for 1000 elements and " + large + " bytes for 50000 elements.",
+            large <= small + 4096
+        );
+    }
+
+    static long deltaAllocation(int size) {
+        List<String> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) data.add(String.valueOf(i));
+        ConfiguredList<Integer> value = bind(holder("numbers", data), "numbers", numbers());
+
+        Runnable changes = () -> {
+            for (int i = 0; i < 100; i++) {
+                value.add(i);
+                value.set(0, i);
+                value.remove(value.size() - 1);
+            }
+        };
+        changes.run(); // The loaded list and data are copied once by the first change, and then modified in place.
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return -1;
+
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        changes.run();
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+        Assert.assertEquals(size, value.size());
+        return allocated;
+    }
+
+}
@@ -0,0 +1,224 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.option.StandardOptions;
+import cc.carm.lib.configuration.source.temp.TempConfigFactory;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stress tests of concurrent sections, in the way of jcstress:
+ * each round races a few actors on a fresh source, then checks the outcome is one of the allowed ones.
+ */
+public class ConcurrentSectionTest {
+
+    static final int ROUNDS = 2_000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    static TempSource concurrentSource(Map<String, Object> defaults) {
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create()
+            .option(StandardOptions.CONCURRENT_SECTIONS, true)
+            .defaults(defaults).build();
+        return holder.config();
+    }
+
+    @Test
+    public void createParentsOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            TempSource source = concurrentSource(new LinkedHashMap<>());
+            race(
+                () -> source.set("parent.x", 1),
+                () -> source.set("parent.y", 2)
+            );
+            // Forbidden: one of the writes lost by creating the parent section twice.
+            Assert.assertEquals("Round " + round, 1, source.get("parent.x"));
+            Assert.assertEquals("Round " + round, 2, source.get("parent.y"));
+        }
+    }
+
+    @Test
+    public void readWhileReplacing() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Map<String, Object> defaults = new LinkedHashMap<>();
+            defaults.put("value", 0);
+            TempSource source = concurrentSource(defaults);
+            AtomicReference<Object> observed = new AtomicReference<>();
+            race(
+                () -> source.set("value", 1),
+                () -> observed.set(source.get("value"))
+            );
+            // Acceptable: the old or the new value, never missing.
+            Assert.assertTrue("Round " + round + ": " + observed.get(),
+                Objects.equals(0, observed.get()) || Objects.equals(1, observed.get()));
+            Assert.assertEquals(Collections.singletonList("value"), new ArrayList<>(source.getKeys(false)));
+        }
+    }
+
+    @Test
+    public void saveWhileWriting() throws Exception {
+        int keys = 200;
+        for (int round = 0; round < ROUNDS / 20; round++) {
+            TempSource source = concurrentSource(new LinkedHashMap<>());
+            List<List<String>> snapshots = new CopyOnWriteArrayList<>();
+            race(
+                () -> {
+                    for (int i = 0; i < keys; i++) source.set("section.key" + i, i);
+                },
+                () -> {
+                    for (int i = 0; i < keys; i++) source.set("other" + i, i);
+                },
+                () -> {
+                    for (int i = 0; i < 20; i++) {
+                        Object section = source.asMap().get("section"); // Like saving, must never throw.
+                        if (section instanceof Map<?, ?>) snapshots.add(keysOf((Map<?, ?>) section));
+                    }
+                }
+            );
+
+            // Acceptable: any prefix of the inserted keys, in insertion order.
+            for (List<String> snapshot : snapshots) {
+                for (int i = 0; i < snapshot.size(); i++) {
+                    Assert.assertEquals("Round " + round, "key" + i, snapshot.get(i));
+                }
+            }
+            Assert.assertEquals(keys, source.getSection("section").size(false));
+            Assert.assertEquals(keys * 2 + 1, source.size(true));
+        }
+    }
+
+    @Test
+    public void removeWhileIterating() throws Exception {
+        for (int round = 0; round < ROUNDS / 10; round++) {
+            Map<String, Object> defaults = new LinkedHashMap<>();
+            for (int i = 0; i < 50; i++) defaults.put("key" + i, i);
+            TempSource source = concurrentSource(defaults);
+            race(
+                () -> {
+                    for (int i = 0; i < 50; i += 2) source.remove("key" + i);
+                },
+                () -> {
+                    for (int i = 0; i < 10; i++) {
+                        for (Map.Entry<String, Object> entry : source.getValues(true).entrySet()) {
+                            Assert.assertNotNull(entry.getValue());
+                        }
+                    }
+                }
+            );
+            Assert.assertEquals(25, source.size(false));
+            Assert.assertFalse(source.contains("key0"));
+            Assert.assertTrue(source.contains("key49"));
+        }
+    }
+
+    @Test
+    public void readListWhileAppending() throws Exception {
+        int elements = 100;
+        for (int round = 0; round < ROUNDS / 20; round++) {
+            Map<String, Object> defaults = new LinkedHashMap<>();
+            defaults.put("list", Collections.singletonList(0));
+            TempSource source = concurrentSource(defaults);
+            List<List<Object>> snapshots = new CopyOnWriteArrayList<>();
+            race(
+                () -> {
+                    for (int i = 1; i < elements; i++) {
+                        List<Object> list = new ArrayList<>((List<?>) Objects.requireNonNull(source.get("list")));
+                        list.add(i);
+                        source.set("list", list);
+                    }
+                },
+                () -> {
+                    for (int i = 0; i < 20; i++) { // Must never throw while the list is appended.
+                        snapshots.add(new ArrayList<>((List<?>) Objects.requireNonNull(source.get("list"))));
+                    }
+                }
+            );
+
+            // Acceptable: any prefix of the appended elements.
+            for (List<Object> snapshot : snapshots) {
+                for (int i = 0; i < snapshot.size(); i++) {
+                    Assert.assertEquals("Round " + round, i, snapshot.get(i));
+                }
+            }
+            List<?> list = (List<?>) Objects.requireNonNull(source.get("list"));
+            Assert.assertEquals(elements, list.size());
+            try { // Forbidden: lists shared by readers modified in place.
+                list.remove(0);
+                Assert.fail("Lists of concurrent sections should be read-only.");
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void orderCost() {
+        long small = orderAllocation(2_000);
+        long large = orderAllocation(20_000);
+        if (small < 0 || large < 0) return; // The JVM does not support allocation measurement.
+        Assert.assertTrue(
+            "Inserting and removing keys should cost the same for each key, but allocated "
+                + small / 2_000 + " bytes per key for 2000 keys and " + large / 20_000 + " bytes per key for 20000 keys.",
+            large / 20_000 <= small / 2_000 * 2
+        );
+    }
+
+    static long orderAllocation(int keys) {
+        Runnable changes = () -> {
+            TempSource source = concurrentSource(new LinkedHashMap<>());
+            for (int i = 0; i < keys; i++) source.set("section.key" + i, i);
+            for (int i = 0; i < keys; i++) source.remove("section.key" + i);
+            Assert.assertEquals(0, source.getSection("section").size(false));
+        };
+        changes.run(); // Warm up
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return -1;
+
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        changes.run();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    static List<String> keysOf(Map<?, ?> map) {
+        List<String> keys = new ArrayList<>();
+        for (Object key : map.keySet()) keys.add(key.toString());
+        return keys;
+    }
+
+    void race(Runnable... actors) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(actors.length);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable actor : actors) {
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                actor.run();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Error) throw (Error) ex.getCause();
+                throw ex;
+            }
+        }
+    }
+
+}
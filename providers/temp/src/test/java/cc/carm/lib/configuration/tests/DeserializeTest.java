@@ -0,0 +1,78 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.adapter.ValueAdapterRegistry;
+import cc.carm.lib.configuration.adapter.ValueType;
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempConfigFactory;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class DeserializeTest {
+
+    @Test
+    public void nested() throws Exception {
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create().build();
+        ValueType<List<Map<String, Integer>>> type = ValueType.ofList(ValueType.ofMap(ValueType.STRING, ValueType.INTEGER));
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", "1");
+        first.put("b", 2L);
+        List<Object> data = Arrays.asList(first, null, Collections.singletonMap("c", 3.0D));
+
+        List<Map<String, Integer>> parsed = holder.deserialize(type, data);
+        Assert.assertNotNull(parsed);
+        Assert.assertEquals(2, parsed.size());
+        Assert.assertEquals(Integer.valueOf(1), parsed.get(0).get("a"));
+        Assert.assertEquals(Integer.valueOf(2), parsed.get(0).get("b"));
+        Assert.assertEquals(Integer.valueOf(3), parsed.get(1).get("c"));
+
+        Set<Long> set = holder.deserialize(ValueType.of(Set.class, Long.class), "5");
+        Assert.assertEquals(Collections.singleton(5L), set);
+
+        String[] array = holder.deserialize(String[].class, Arrays.asList(1, "b"));
+        Assert.assertArrayEquals(new String[]{"1", "b"}, array);
+    }
+
+    @Test
+    public void primitiveArrays() throws Exception {
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create().build();
+
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, holder.deserialize(int[].class, Arrays.asList(1, "2", 3.0D)));
+        Assert.assertArrayEquals(new long[]{5L}, holder.deserialize(long[].class, "5"));
+        Assert.assertArrayEquals(new double[]{0.5D, 0D}, holder.deserialize(double[].class, Arrays.asList("0.5", null)), 0D);
+        Assert.assertArrayEquals(new byte[]{1, -1}, holder.deserialize(byte[].class, Arrays.asList(1, -1)));
+        Assert.assertArrayEquals(new short[]{7, 8}, holder.deserialize(short[].class, Arrays.asList(7, "8")));
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), holder.serialize(new int[]{1, 2, 3}));
+        Assert.assertEquals(Arrays.asList(0.5D, 1D), holder.serialize(new double[]{0.5D, 1D}));
+        Assert.assertEquals(Arrays.asList((short) 7, (short) 8), holder.serialize(new short[]{7, 8}));
+    }
+
+    @Test
+    public void unresolvedElements() throws Exception {
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create().build();
+        ValueType<List<? extends Number>> type = new ValueType<List<? extends Number>>() {
+        };
+
+        // Types of elements are only required when there are elements.
+        Assert.assertEquals(Collections.emptyList(), holder.deserialize(type, Collections.emptyList()));
+        Assert.assertThrows(Exception.class, () -> holder.deserialize(type, Collections.singletonList(1)));
+    }
+
+    @Test
+    public void plans() {
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create().build();
+        ValueAdapterRegistry registry = holder.adapters();
+        ValueType<List<UUID>> type = ValueType.ofList(UUID.class);
+
+        ValueAdapterRegistry.DeserializePlan<List<UUID>> plan = registry.planOf(type);
+        Assert.assertSame(plan, registry.planOf(type));
+
+        registry.unregister(UUID.class); // Plans should be compiled again after adapters changed.
+        Assert.assertNotSame(plan, registry.planOf(type));
+    }
+
+}
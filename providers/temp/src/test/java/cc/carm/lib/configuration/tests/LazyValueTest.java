@@ -0,0 +1,124 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.standard.ConfiguredList;
+import cc.carm.lib.configuration.value.standard.ConfiguredMap;
+import cc.carm.lib.configuration.value.standard.LazyConfiguredList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static cc.carm.lib.configuration.tests.TempFixtures.bind;
+import static cc.carm.lib.configuration.tests.TempFixtures.holder;
+
+public class LazyValueTest {
+
+    @Test
+    public void lazyMap() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder(data -> {
+            Map<String, Object> prices = new LinkedHashMap<>();
+            for (int i = 0; i < 1000; i++) prices.put(String.valueOf(i), String.valueOf(i));
+            prices.put("invalid", "not-a-number");
+            data.put("prices", prices);
+        });
+
+        AtomicInteger parsed = new AtomicInteger();
+        ConfiguredMap<Integer, Integer> value = bind(holder, "prices", ConfiguredMap.builderOf(Integer.class, Integer.class)
+            .asLinkedMap().fromString()
+            .parseKey(data -> Integer.parseInt(data))
+            .parse(data -> {
+                parsed.incrementAndGet();
+                return Integer.parseInt(data);
+            }).serialize(String::valueOf)
+            .lazy().build());
+
+        Assert.assertEquals(Integer.valueOf(42), value.get(42));
+        Assert.assertEquals(Integer.valueOf(42), value.get(42));
+        Assert.assertTrue(value.containsKey(7));
+        Assert.assertFalse(value.containsKey(-1));
+        Assert.assertNull(value.get("not-a-key"));
+        Assert.assertNull("Keys should be checked by the key adapter.", value.get("42"));
+        Assert.assertFalse(value.containsKey("42"));
+        Assert.assertEquals("Only requested entries should be parsed.", 2, parsed.get());
+
+        long generation = holder.config().generation();
+        Assert.assertEquals(Integer.valueOf(42), value.put(42, 4200));
+        Assert.assertNull(value.put(5000, 5000));
+        Assert.assertEquals(Integer.valueOf(7), value.remove(7));
+        Assert.assertEquals(Integer.valueOf(4200), value.get(42));
+        Assert.assertEquals(Integer.valueOf(5000), value.get(5000));
+        Assert.assertNull(value.get(7));
+        Assert.assertEquals("4200", holder.config().get("prices.42"));
+        Assert.assertEquals("5000", holder.config().get("prices.5000"));
+        Assert.assertFalse(holder.config().contains("prices.7"));
+        Assert.assertEquals(2, parsed.get());
+        Assert.assertEquals("Single entries should be written without outdating other values.",
+            generation, holder.config().generation());
+
+        // The invalid entry is skipped, so the size agrees with the entries.
+        Assert.assertEquals(value.entrySet().size(), value.size());
+        Assert.assertEquals(1000, value.size());
+
+        holder.reload();
+        Assert.assertEquals(1000, value.get().size());
+        Assert.assertEquals(Integer.valueOf(4200), value.get(42));
+    }
+
+    @Test
+    public void lazyList() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder(data -> {
+            List<String> numbers = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) numbers.add(String.valueOf(i));
+            numbers.set(1, "invalid");
+            data.put("numbers", numbers);
+        });
+
+        AtomicInteger parsed = new AtomicInteger();
+        LazyConfiguredList<Integer> value = bind(holder, "numbers", ConfiguredList.builderOf(Integer.class).lazy().fromString()
+            .parse(data -> {
+                parsed.incrementAndGet();
+                return Integer.parseInt(data);
+            }).serialize(String::valueOf).build());
+
+        Assert.assertEquals(Integer.valueOf(501), value.get(500)); // The invalid element is skipped.
+        Assert.assertEquals(Integer.valueOf(501), value.get(500));
+        Assert.assertEquals(Integer.valueOf(2), value.get(1));
+        Assert.assertEquals(Arrays.asList(0, 2, 3), value.stream().limit(3).collect(Collectors.toList()));
+        Assert.assertEquals("Only elements up to the requested one should be parsed.", 502, parsed.get());
+        Assert.assertFalse("The whole list should not be materialized.", value.snapshot().isPresent());
+
+        Assert.assertEquals(99_999, value.size());
+        Assert.assertEquals(500, value.indexOf(501));
+        Assert.assertEquals(value.get().size(), value.size());
+        value.add(100_000);
+        Assert.assertEquals(Integer.valueOf(100_000), value.get(value.size() - 1));
+
+        holder.config().set("numbers", Arrays.asList("7", "8"));
+        holder.reload();
+        Assert.assertEquals(Arrays.asList(7, 8), value.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void lazyListIndexes() throws Exception {
+        ConfigurationHolder<TempSource> holder = holder("numbers", Arrays.asList("0", "invalid", null, "3", "4", "invalid", "6"));
+        LazyConfiguredList<Integer> value = bind(holder, "numbers", ConfiguredList.builderOf(Integer.class).lazy().fromString()
+            .parse(data -> Integer.parseInt(data)).serialize(String::valueOf).build());
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(value.stream().skip(i).findFirst().orElse(null), value.get(i));
+        }
+        Assert.assertEquals(Arrays.asList(0, 3, 4, 6), new ArrayList<>(value));
+        Assert.assertEquals(4, value.size());
+        Assert.assertEquals(4, value.stream().parallel().count());
+        Assert.assertEquals(value.get(), value.stream().collect(Collectors.toList()));
+
+        Assert.assertEquals(Integer.valueOf(3), value.remove(1));
+        Assert.assertEquals(Arrays.asList(0, 4, 6), value.stream().collect(Collectors.toList()));
+        Assert.assertEquals(Integer.valueOf(4), value.get(1));
+    }
+
+}
@@ -0,0 +1,46 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.standard.ConfiguredBoolean;
+import cc.carm.lib.configuration.value.standard.ConfiguredDouble;
+import cc.carm.lib.configuration.value.standard.ConfiguredInt;
+import cc.carm.lib.configuration.value.standard.ConfiguredLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static cc.carm.lib.configuration.tests.TempFixtures.bind;
+import static cc.carm.lib.configuration.tests.TempFixtures.holder;
+
+public class PrimitiveValueTest {
+
+    @Test
+    public void primitives() {
+        ConfigurationHolder<TempSource> holder = holder(data -> {
+            data.put("int", "12");
+            data.put("long", 3.0D);
+            data.put("double", 1);
+            data.put("boolean", "yes");
+            data.put("invalid", "abc");
+        });
+
+        ConfiguredInt intValue = bind(holder, "int", ConfiguredInt.of(5));
+        ConfiguredLong longValue = bind(holder, "long", ConfiguredLong.builder().validate(v -> v > 0, "Must be positive").build());
+        ConfiguredDouble doubleValue = bind(holder, "double", ConfiguredDouble.of());
+        ConfiguredBoolean booleanValue = bind(holder, "boolean", ConfiguredBoolean.of(false));
+        ConfiguredInt invalid = bind(holder, "invalid", ConfiguredInt.of(7));
+        ConfiguredInt absent = bind(holder, "absent", ConfiguredInt.of());
+
+        Assert.assertEquals(12, intValue.getAsInt());
+        Assert.assertEquals(3L, longValue.getAsLong());
+        Assert.assertEquals(1D, doubleValue.getAsDouble(), 0D);
+        Assert.assertTrue(booleanValue.getAsBoolean());
+        Assert.assertEquals(7, invalid.getAsInt());
+        Assert.assertEquals(0, absent.getAsInt());
+
+        intValue.set(42);
+        Assert.assertEquals(42, intValue.getAsInt());
+        Assert.assertEquals(42, holder.config().get("int"));
+    }
+
+}
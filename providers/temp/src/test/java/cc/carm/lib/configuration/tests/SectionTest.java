@@ -0,0 +1,108 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.option.StandardOptions;
+import cc.carm.lib.configuration.source.section.ConfigureSection;
+import cc.carm.lib.configuration.source.temp.TempConfigFactory;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SectionTest {
+
+    @Test
+    public void lazyMigration() {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("name", "Carm");
+        user.put("address", Collections.singletonMap("city", "Shanghai"));
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("user", user);
+        root.put("items", Arrays.asList(Collections.singletonMap("id", 1), "plain"));
+
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create()
+            .option(StandardOptions.LAZY_SECTIONS, true)
+            .defaults(root).build();
+
+        // Raw maps are owned by the section when migrated, and converted only when accessed.
+        Assert.assertEquals("Shanghai", holder.config().get("user.address.city"));
+        Assert.assertTrue(holder.config().isSection("user.address"));
+        Assert.assertSame("Raw maps should be converted once.",
+            holder.config().getSection("user"), holder.config().getSection("user"));
+        Assert.assertTrue(holder.config().getList("items").get(0) instanceof ConfigureSection);
+
+        holder.config().set("user.age", 18);
+        Assert.assertEquals(18, holder.config().get("user.age"));
+        Assert.assertEquals(3, holder.config().getSection("user").size(false));
+        Assert.assertTrue(holder.config().getValues(false).get("user") instanceof ConfigureSection);
+        Assert.assertEquals(root.keySet(), holder.config().getKeys(false));
+        Assert.assertTrue(holder.config().getKeys(true).contains("user.address.city"));
+    }
+
+    @Test
+    public void deepValues() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("a", Collections.singletonMap("b", 1));
+        root.put("c", 2);
+        TempSource source = TempConfigFactory.create().defaults(root).build().config();
+
+        // Deep values are snapshots, which can be iterated while modifying.
+        for (Map.Entry<String, Object> entry : source.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigureSection)) source.set("copy." + entry.getKey(), entry.getValue());
+        }
+        Assert.assertEquals(1, source.get("copy.a.b"));
+        Assert.assertEquals(source.getKeys(true).size(), source.size(true));
+        Assert.assertEquals(source.getValues(true), source.viewValues(true));
+
+        source.set("a.d", 3);
+        Assert.assertEquals(source.getKeys(true).size(), source.size(true));
+        Assert.assertTrue(source.contains("a.d"));
+        Assert.assertFalse(source.contains("a.d.e"));
+    }
+
+    @Test
+    public void pathIndex() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("a", Collections.singletonMap("b", Collections.singletonMap("c", 1)));
+        root.put("d", 2);
+
+        ConfigurationHolder<TempSource> holder = TempConfigFactory.create()
+            .option(StandardOptions.PATH_INDEX, true)
+            .defaults(root).build();
+        TempSource source = holder.config();
+
+        Assert.assertEquals(Arrays.asList("a", "a.b", "a.b.c", "d"), new ArrayList<>(source.getKeys(true)));
+        Assert.assertEquals(1, source.get("a.b.c"));
+        Assert.assertTrue(source.contains("a.b"));
+        Assert.assertFalse(source.contains("a.x"));
+
+        source.set("a.b.c", 3); // Non-structural, updated in place.
+        Assert.assertEquals(3, source.get("a.b.c"));
+        Assert.assertEquals(3, source.getValues(true).get("a.b.c"));
+
+        source.set("a.b.e", 4); // New path
+        Assert.assertEquals(4, source.get("a.b.e"));
+        Assert.assertTrue(source.getKeys(true).contains("a.b.e"));
+
+        Map<String, Object> values = source.getValues(true);
+        source.remove("a.b");
+        Assert.assertNull(source.get("a.b.c"));
+        Assert.assertEquals(Arrays.asList("a", "d"), new ArrayList<>(source.getKeys(true)));
+        Assert.assertFalse("Indexed deep values should be views of the index.", values.containsKey("a.b.c"));
+
+        // Paths are indexed incrementally, new paths are appended.
+        source.set("d.e.f", 5);
+        source.set("a", Collections.singletonMap("x", 6));
+        Assert.assertEquals(Arrays.asList("a", "d", "d.e", "d.e.f", "a.x"), new ArrayList<>(source.getKeys(true)));
+        Assert.assertEquals(source.section().getValues(true), source.getValues(true));
+        Assert.assertTrue(source.isSection("d.e"));
+        Assert.assertEquals(6, source.get("a.x"));
+    }
+
+}
@@ -0,0 +1,32 @@
+package cc.carm.lib.configuration.tests;
+
+import cc.carm.lib.configuration.source.ConfigurationHolder;
+import cc.carm.lib.configuration.source.temp.TempConfigFactory;
+import cc.carm.lib.configuration.source.temp.TempSource;
+import cc.carm.lib.configuration.value.ValueManifest;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Shared fixtures of the tests, holders of temporary sources and values bound to them.
+ */
+final class TempFixtures {
+
+    private TempFixtures() {
+    }
+
+    static ConfigurationHolder<TempSource> holder(Consumer<Map<String, Object>> defaults) {
+        return TempConfigFactory.create().defaults(defaults).build();
+    }
+
+    static ConfigurationHolder<TempSource> holder(String path, Object value) {
+        return holder(data -> data.put(path, value));
+    }
+
+    static <V extends ValueManifest<?, ?>> V bind(ConfigurationHolder<?> holder, String path, V value) {
+        value.initialize(holder, path);
+        return value;
+    }
+
+}
@@ -33,8 +33,6 @@ public class YAMLSource
     protected final @NotNull YamlRepresenter yamlRepresenter;
     protected final @NotNull Yaml yaml;
 
-    protected @Nullable SourcedSection rootSection;
-
     protected YAMLSource(@NotNull ConfigurationHolder<? extends YAMLSource> holder,
                          @NotNull File file, @Nullable String resourcePath) {
         super(holder, 0, file, resourcePath);
@@ -66,7 +64,7 @@ public class YAMLSource
 
     @Override
     public @NotNull SourcedSection section() {
-        return Objects.requireNonNull(this.rootSection, "Root section is not initialized.");
+        return Objects.requireNonNull(published(), "Root section is not initialized.");
     }
 
     public @NotNull LoaderOptions loaderOptions() {
@@ -122,7 +120,7 @@ public class YAMLSource
 
     @Override
     protected void onReload() throws Exception {
-        this.rootSection = fileReadString(this::loadFromString);
+        publish(fileReadString(this::loadFromString));
     }
 
     @Override